@@ -1,5 +1,6 @@
 package com.ws.annotation;
 
+import com.ws.enu.BatchSaveMode;
 import com.ws.enu.ColumnType;
 import com.ws.enu.DataBaseType;
 
@@ -27,4 +28,59 @@ public @interface Data {
 
     ColumnType columnType() default ColumnType.antd;
 
+    /**
+     * 批量保存方式,executor需要驱动支持批量重写(mysql需要rewriteBatchedStatements=true),否则自动回退为foreach
+     */
+    BatchSaveMode batchSaveMode() default BatchSaveMode.foreach;
+
+    /**
+     * executor方式下每多少行flush一次
+     */
+    int batchSize() default 500;
+
+    /**
+     * 是否缓存数据条数,按查询条件缓存,本实体类通过service增删改后失效
+     */
+    boolean cacheTotal() default false;
+
+    /**
+     * 数据条数缓存的过期时间,单位秒
+     */
+    int totalCacheSeconds() default 60;
+
+    /**
+     * 没有查询条件时是否读取表统计信息作为近似条数(mysql为information_schema.tables.table_rows,是估算值)
+     */
+    boolean approximateTotal() default false;
+
+    /**
+     * 生成xml时是否生成_getPage,列表数据和count(*) over()一起查询,需要数据库支持窗口函数(mysql 8+)
+     */
+    boolean windowTotal() default false;
+
+    /**
+     * 列表接口是否在虚拟线程上并行查询列表和条数,会同时占用两个数据库连接,有事务时仍然顺序查询
+     */
+    boolean concurrentTotal() default false;
+
+    /**
+     * 流式查询(_getListCursor,_getNestListCursor)的jdbc fetchSize,0表示按数据库默认的流式读取(mysql为Integer.MIN_VALUE逐行读取)
+     */
+    int fetchSize() default 0;
+
+    /**
+     * 流式导出时提前查询的批数,大于0时查询和写入excel同时进行,最多缓存这么多批数据
+     */
+    int exportPrefetch() default 0;
+
+    /**
+     * 导入excel时每多少行转换、校验、保存并提交一次
+     */
+    int importBatchSize() default 500;
+
+    /**
+     * 一次上传多个文件时最多同时导入的文件数,每个文件在自己的事务中保存,1为依次导入(每批提交)
+     */
+    int importParallelism() default 1;
+
 }
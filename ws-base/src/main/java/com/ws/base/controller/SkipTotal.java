@@ -0,0 +1,9 @@
+package com.ws.base.controller;
+
+/**
+ * @author GSF
+ * <p>标记表格列表接口不统计数据条数,只返回hasMore,适合无限滚动等不展示总数的场景</p>
+ * <p>没有实现该接口时也可以通过请求参数skipTotal=true开启</p>
+ */
+public interface SkipTotal {
+}
@@ -17,6 +17,7 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.multipart.support.StandardMultipartHttpServletRequest;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -43,10 +44,17 @@ public interface ImportExcel<S extends AbstractBaseDataService<?, ? extends Base
         if (headerRowNumber < 1) {
             throw new IException(CommonErrorInfo.BODY_NOT_MATCH);
         }
+        int parallelism = this.getService().getImportParallelism();
+        boolean parallelSheets = Boolean.parseBoolean(String.valueOf(params.get("parallelSheets")));
+        if (parallelism > 1 || parallelSheets) {
+            ImportResult importResult = this.getService().importExcel(fileList, headerRowNumber, parallelism, parallelSheets);
+            return importResult.isSuccess() ? ResultBody.success(importResult, "导入成功") : ResultBody.warn(importResult, "部分导入失败");
+        }
+        List<ImportProgress> progressList = new ArrayList<>(fileList.size());
         for (MultipartFile multipartFile : fileList) {
-            this.getService().importExcel(multipartFile, headerRowNumber);
+            progressList.add(this.getService().importExcel(multipartFile, headerRowNumber));
         }
-        return ResultBody.successMsg("导入成功");
+        return ResultBody.success(progressList, "导入成功");
     }
 
 }
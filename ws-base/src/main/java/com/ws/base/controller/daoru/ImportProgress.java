@@ -0,0 +1,62 @@
+package com.ws.base.controller.daoru;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * @author GSF
+ * <p>导入进度,每批保存提交后更新</p>
+ */
+@Data
+public class ImportProgress implements Serializable {
+
+    /**
+     * <p>导入的文件名</p>
+     **/
+    String fileName;
+
+    /**
+     * <p>已读取的数据行数</p>
+     **/
+    long readRows;
+
+    /**
+     * <p>已保存并提交的行数</p>
+     **/
+    long savedRows;
+
+    /**
+     * <p>已提交的批数</p>
+     **/
+    int batches;
+
+    /**
+     * <p>按sheet拆分导入时的sheet下标和名称</p>
+     **/
+    Integer sheetNo;
+
+    String sheetName;
+
+    long startTime = System.currentTimeMillis();
+
+    /**
+     * <p>耗时,毫秒</p>
+     **/
+    long costMillis;
+
+    boolean success;
+
+    /**
+     * <p>失败原因</p>
+     **/
+    String message;
+
+    public ImportProgress() {
+    }
+
+    public ImportProgress(String fileName) {
+        this.fileName = fileName;
+    }
+
+}
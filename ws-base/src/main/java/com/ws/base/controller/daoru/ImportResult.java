@@ -0,0 +1,45 @@
+package com.ws.base.controller.daoru;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * @author GSF
+ * <p>多个文件的导入结果</p>
+ */
+@Data
+public class ImportResult implements Serializable {
+
+    /**
+     * <p>每个文件(sheet)的导入结果</p>
+     **/
+    List<ImportProgress> items;
+
+    /**
+     * <p>成功保存的行数</p>
+     **/
+    long savedRows;
+
+    /**
+     * <p>全部成功</p>
+     **/
+    boolean success;
+
+    /**
+     * <p>总耗时,毫秒</p>
+     **/
+    long costMillis;
+
+    public ImportResult() {
+    }
+
+    public ImportResult(List<ImportProgress> items, long costMillis) {
+        this.items = items;
+        this.savedRows = items.stream().mapToLong(ImportProgress::getSavedRows).sum();
+        this.success = items.stream().allMatch(ImportProgress::isSuccess);
+        this.costMillis = costMillis;
+    }
+
+}
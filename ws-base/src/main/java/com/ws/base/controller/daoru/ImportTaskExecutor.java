@@ -0,0 +1,74 @@
+package com.ws.base.controller.daoru;
+
+import com.ws.exception.IException;
+import com.ws.tool.StringUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author GSF
+ * <p>并行导入共用的线程池,线程数和排队数固定,并发的导入请求不会各自创建线程和占用更多数据库连接</p>
+ */
+public class ImportTaskExecutor {
+
+    private static volatile ThreadPoolExecutor executor = newExecutor(4, 64);
+
+    /**
+     * <p>启动时由starter根据EnableConfig配置,已提交的任务在原线程池中继续执行</p>
+     *
+     * @param workers   工作线程数
+     * @param queueSize 排队任务数上限,超过时提交失败
+     **/
+    public static synchronized void configure(int workers, int queueSize) {
+        ThreadPoolExecutor old = executor;
+        executor = newExecutor(Math.max(workers, 1), Math.max(queueSize, 1));
+        old.shutdown();
+    }
+
+    private static @NotNull ThreadPoolExecutor newExecutor(int workers, int queueSize) {
+        AtomicInteger index = new AtomicInteger();
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize), runnable -> {
+            Thread thread = new Thread(runnable, StringUtil.concat("ws-import-", String.valueOf(index.incrementAndGet())));
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * <p>执行一组任务,同时最多提交parallelism个,一个完成后再提交下一个,返回的Future和任务顺序一致且都已完成</p>
+     *
+     * @param tasks       任务
+     * @param parallelism 本次调用最多同时执行的任务数
+     * @return List<Future < R>>
+     **/
+    public static <R> @NotNull List<Future<R>> invokeAll(@NotNull List<Callable<R>> tasks, int parallelism) throws InterruptedException {
+        CompletionService<R> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<R>> futures = new ArrayList<>(tasks.size());
+        try {
+            int running = 0;
+            for (Callable<R> task : tasks) {
+                if (running >= Math.max(parallelism, 1)) {
+                    completionService.take();
+                    running--;
+                }
+                futures.add(completionService.submit(task));
+                running++;
+            }
+            for (; running > 0; running--) {
+                completionService.take();
+            }
+        } catch (RejectedExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IException("导入任务过多,请稍后再试");
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        return futures;
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.ws.base.controller.daoru;
+
+import com.alibaba.excel.context.AnalysisContext;
+import com.alibaba.excel.event.AnalysisEventListener;
+import com.alibaba.excel.metadata.data.ReadCellData;
+import com.ws.base.model.BaseModel;
+import com.ws.base.model.ModelAccessor;
+import com.ws.cache.convert.FieldConverter;
+import com.ws.tool.CacheTool;
+import com.ws.tool.StringUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Constructor;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * @author GSF
+ * <p>读取excel直接写入实体类,表头只解析一次为 列下标->属性slot 的映射,每行不再构建中间Map</p>
+ * <p>每读取batchSize行交给batchConsumer处理,处理后丢弃</p>
+ */
+public class ModelImportListener<T extends BaseModel> extends AnalysisEventListener<Map<Integer, Object>> {
+
+    private final Constructor<T> constructor;
+
+    private final ModelAccessor<T> accessor;
+
+    private final FieldConverter[] converters;
+
+    private final String[] titles;
+
+    private final int batchSize;
+
+    private final Consumer<List<T>> batchConsumer;
+
+    /**
+     * <p>第i个映射: 第columns[i]列写入第slots[i]个属性</p>
+     **/
+    private int[] columns = new int[0];
+
+    private int[] slots = new int[0];
+
+    private List<T> dataList;
+
+    @SuppressWarnings("unchecked")
+    public ModelImportListener(@NotNull Class<T> modelClazz, int batchSize, @NotNull Consumer<List<T>> batchConsumer) {
+        try {
+            this.constructor = modelClazz.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(StringUtil.concat("实体类缺少无参构造: ", modelClazz.getName()), e);
+        }
+        this.accessor = (ModelAccessor<T>) CacheTool.getModelAccessor(modelClazz);
+        this.converters = CacheTool.getModelConverters(modelClazz);
+        this.titles = CacheTool.getModelTitles(modelClazz);
+        this.batchSize = Math.max(batchSize, 1);
+        this.batchConsumer = batchConsumer;
+        this.dataList = new ArrayList<>(this.batchSize);
+    }
+
+    /**
+     * <p>表头相同时取最后一列,和按表头名放入Map的结果一致</p>
+     **/
+    @Override
+    public void invokeHead(Map<Integer, ReadCellData<?>> headMap, AnalysisContext context) {
+        super.invokeHead(headMap, context);
+        Map<String, Integer> headIndex = new HashMap<>();
+        new TreeMap<>(headMap).forEach((column, cellData) -> {
+            if (Objects.nonNull(cellData) && Objects.nonNull(cellData.getStringValue())) {
+                headIndex.put(cellData.getStringValue(), column);
+            }
+        });
+        int[] columns = new int[this.titles.length];
+        int[] slots = new int[this.titles.length];
+        int size = 0;
+        for (int slot = 0; slot < this.titles.length; slot++) {
+            Integer column = headIndex.get(this.titles[slot]);
+            if (Objects.nonNull(column)) {
+                columns[size] = column;
+                slots[size] = slot;
+                size++;
+            }
+        }
+        this.columns = Arrays.copyOf(columns, size);
+        this.slots = Arrays.copyOf(slots, size);
+    }
+
+    @Override
+    public void invoke(Map<Integer, Object> rowData, AnalysisContext context) {
+        T model;
+        try {
+            model = this.constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(StringUtil.concat("实体类实例化失败: ", this.constructor.getDeclaringClass().getName()), e);
+        }
+        for (int i = 0; i < this.columns.length; i++) {
+            Object value = rowData.get(this.columns[i]);
+            if (Objects.nonNull(value)) {
+                int slot = this.slots[i];
+                this.accessor.set(model, slot, this.converters[slot].convert(value));
+            }
+        }
+        this.dataList.add(model);
+        if (this.dataList.size() >= this.batchSize) {
+            this.flush();
+        }
+    }
+
+    @Override
+    public void doAfterAllAnalysed(AnalysisContext context) {
+        if (!this.dataList.isEmpty()) {
+            this.flush();
+        }
+    }
+
+    private void flush() {
+        List<T> batch = this.dataList;
+        this.dataList = new ArrayList<>(this.batchSize);
+        this.batchConsumer.accept(batch);
+    }
+
+}
@@ -19,7 +19,14 @@ public interface ExportExcel<S extends AbstractBaseDataService<?, ? extends Base
     @ResponseBody
     public default void exportExcel(HttpServletRequest request, HttpServletResponse response, HttpSession session) throws IOException {
         Map<String, Object> requestParams = this.getRequestParams(request);
-        this.getService().exportExcel(String.valueOf(requestParams.get("fileName")), this.getService().getNestList(requestParams).stream().map(BaseModel::toMap).toList(), response);
+        this.getService().exportExcel(String.valueOf(requestParams.get("fileName")), requestParams, this.getExportPrefetch(), response);
+    }
+
+    /**
+     * <p>导出时提前查询的批数,默认取实体类配置,controller可以覆盖</p>
+     **/
+    public default int getExportPrefetch() {
+        return this.getService().getExportPrefetch();
     }
 
 }
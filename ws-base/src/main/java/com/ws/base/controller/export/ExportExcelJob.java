@@ -0,0 +1,50 @@
+package com.ws.base.controller.export;
+
+import com.ws.base.controller.BaseDataController;
+import com.ws.base.export.ExportJobInfo;
+import com.ws.base.mapper.BaseDataMapper;
+import com.ws.base.model.BaseModel;
+import com.ws.base.result.ResultBody;
+import com.ws.base.service.AbstractBaseDataService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.io.IOException;
+import java.util.Map;
+
+public interface ExportExcelJob<S extends AbstractBaseDataService<?, ? extends BaseDataMapper<T>, T>, T extends BaseModel> extends BaseDataController<S, T> {
+
+    /**
+     * <p>提交异步导出excel任务,返回任务id</p>
+     **/
+    @RequestMapping("/exportExcelJob")
+    @ResponseBody
+    public default ResultBody<ExportJobInfo> exportExcelJob(HttpServletRequest request, HttpServletResponse response, HttpSession session) throws IOException {
+        Map<String, Object> requestParams = this.getRequestParams(request);
+        return ResultBody.success(ExportJobInfo.of(this.getService().submitExportExcel(String.valueOf(requestParams.get("fileName")), requestParams)));
+    }
+
+    /**
+     * <p>查询导出任务状态</p>
+     **/
+    @RequestMapping("/exportJob")
+    @ResponseBody
+    public default ResultBody<ExportJobInfo> exportJob(HttpServletRequest request, HttpServletResponse response, HttpSession session) throws IOException {
+        Map<String, Object> requestParams = this.getRequestParams(request);
+        return ResultBody.success(ExportJobInfo.of(this.getService().getExportJob(String.valueOf(requestParams.get("id")))));
+    }
+
+    /**
+     * <p>下载导出文件,支持Range</p>
+     **/
+    @RequestMapping("/exportJobDownload")
+    @ResponseBody
+    public default void exportJobDownload(HttpServletRequest request, HttpServletResponse response, HttpSession session) throws IOException {
+        Map<String, Object> requestParams = this.getRequestParams(request);
+        this.getService().downloadExportJob(String.valueOf(requestParams.get("id")), request, response);
+    }
+
+}
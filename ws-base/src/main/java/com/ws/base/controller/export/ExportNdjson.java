@@ -0,0 +1,28 @@
+package com.ws.base.controller.export;
+
+import com.ws.base.controller.BaseDataController;
+import com.ws.base.mapper.BaseDataMapper;
+import com.ws.base.model.BaseModel;
+import com.ws.base.service.AbstractBaseDataService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.io.IOException;
+import java.util.Map;
+
+public interface ExportNdjson<S extends AbstractBaseDataService<?, ? extends BaseDataMapper<T>, T>, T extends BaseModel> extends BaseDataController<S, T> {
+
+    /**
+     * <p>流式导出ndjson,gzip=true时压缩响应</p>
+     **/
+    @RequestMapping("/exportNdjson")
+    @ResponseBody
+    public default void exportNdjson(HttpServletRequest request, HttpServletResponse response, HttpSession session) throws IOException {
+        Map<String, Object> requestParams = this.getRequestParams(request);
+        this.getService().exportNdjson(String.valueOf(requestParams.get("fileName")), requestParams, Boolean.parseBoolean(String.valueOf(requestParams.get("gzip"))), response);
+    }
+
+}
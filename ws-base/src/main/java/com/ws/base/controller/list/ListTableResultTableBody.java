@@ -1,6 +1,7 @@
 package com.ws.base.controller.list;
 
 import com.ws.base.controller.BaseDataController;
+import com.ws.base.controller.SkipTotal;
 import com.ws.base.mapper.BaseDataMapper;
 import com.ws.base.model.BaseModel;
 import com.ws.base.result.ResultBody;
@@ -26,7 +27,17 @@ public interface ListTableResultTableBody<S extends AbstractBaseDataService<?, ?
     @ResponseBody
     public default ResultBody<List<Map<String, Object>>> getList(HttpServletRequest request, HttpServletResponse response, HttpSession session) throws IOException {
         Map<String, Object> params = this.getRequestParams(request);
-        return ResultTableBody.success(this.getService().getList(params), this.getService().getTotal(params), CacheTool.getControllerModelGenericColumnType(this.getClass()));
+        if (this instanceof SkipTotal || this.getService().isSkipTotal(params)) {
+            return ResultTableBody.success(this.getService().getListSlice(params), CacheTool.getControllerModelGenericColumnType(this.getClass()));
+        }
+        if (this.getService().hasStatement(AbstractBaseDataService.GET_PAGE_STATEMENT)) {
+            return ResultTableBody.success(this.getService().getPage(params), CacheTool.getControllerModelGenericColumnType(this.getClass()));
+        }
+        if (this.getService().isConcurrentTotal()) {
+            return ResultTableBody.success(this.getService().getListPage(params), CacheTool.getControllerModelGenericColumnType(this.getClass()));
+        }
+        List<Map<String, Object>> data = this.getService().getList(params);
+        return ResultTableBody.success(data, this.getService().getTotal(params), CacheTool.getControllerModelGenericColumnType(this.getClass()), this.getService().nextCursor(data, params));
     }
 
 }
@@ -1,6 +1,7 @@
 package com.ws.base.controller.nestlist;
 
 import com.ws.base.controller.BaseDataController;
+import com.ws.base.controller.SkipTotal;
 import com.ws.base.mapper.BaseDataMapper;
 import com.ws.base.model.BaseModel;
 import com.ws.base.result.ResultBody;
@@ -26,7 +27,14 @@ public interface NestListResultTableBody<S extends AbstractBaseDataService<?, ?
     @ResponseBody
     public default ResultBody<List<T>> getNestList(HttpServletRequest request, HttpServletResponse response, HttpSession session) throws IOException {
         Map<String, Object> params = this.getRequestParams(request);
-        return ResultTableBody.success(this.getService().getNestList(params), this.getService().getTotal(params), CacheTool.getControllerModelGenericColumnType(this.getClass()));
+        if (this instanceof SkipTotal || this.getService().isSkipTotal(params)) {
+            return ResultTableBody.success(this.getService().getNestListSlice(params), CacheTool.getControllerModelGenericColumnType(this.getClass()));
+        }
+        if (this.getService().isConcurrentTotal()) {
+            return ResultTableBody.success(this.getService().getNestListPage(params), CacheTool.getControllerModelGenericColumnType(this.getClass()));
+        }
+        List<T> data = this.getService().getNestList(params);
+        return ResultTableBody.success(data, this.getService().getTotal(params), CacheTool.getControllerModelGenericColumnType(this.getClass()), this.getService().nextCursor(data, params));
     }
 
 }
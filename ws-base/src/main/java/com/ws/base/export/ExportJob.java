@@ -0,0 +1,65 @@
+package com.ws.base.export;
+
+import com.alibaba.fastjson2.annotation.JSONField;
+import com.ws.enu.ExportJobStatus;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.nio.file.Path;
+
+/**
+ * @author GSF
+ * <p>异步导出任务,同一提交人的相同导出(实体类、导出格式、查询条件和数据版本一致)复用同一个任务</p>
+ */
+@Data
+public class ExportJob implements Serializable {
+
+    /**
+     * <p>任务id,随机生成</p>
+     **/
+    String id;
+
+    /**
+     * <p>提交人,查询和下载时核对</p>
+     **/
+    @JSONField(serialize = false)
+    String owner;
+
+    /**
+     * <p>实体类全名</p>
+     **/
+    String modelName;
+
+    /**
+     * <p>下载时的文件名</p>
+     **/
+    String fileName;
+
+    /**
+     * <p>下载时的Content-Type</p>
+     **/
+    String contentType;
+
+    volatile ExportJobStatus status = ExportJobStatus.waiting;
+
+    /**
+     * <p>文件大小,字节</p>
+     **/
+    volatile long size;
+
+    /**
+     * <p>失败原因</p>
+     **/
+    volatile String message;
+
+    long createTime;
+
+    volatile long finishTime;
+
+    /**
+     * <p>spool目录中的文件</p>
+     **/
+    @JSONField(serialize = false)
+    transient Path file;
+
+}
@@ -0,0 +1,48 @@
+package com.ws.base.export;
+
+import com.ws.enu.ExportJobStatus;
+import lombok.Data;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serializable;
+
+/**
+ * @author GSF
+ * <p>返回给调用方的导出任务信息,不包含提交人和spool文件路径</p>
+ */
+@Data
+public class ExportJobInfo implements Serializable {
+
+    String id;
+
+    String fileName;
+
+    ExportJobStatus status;
+
+    /**
+     * <p>文件大小,字节</p>
+     **/
+    long size;
+
+    /**
+     * <p>失败原因</p>
+     **/
+    String message;
+
+    long createTime;
+
+    long finishTime;
+
+    public static @NotNull ExportJobInfo of(@NotNull ExportJob job) {
+        ExportJobInfo info = new ExportJobInfo();
+        info.setId(job.getId());
+        info.setFileName(job.getFileName());
+        info.setStatus(job.getStatus());
+        info.setSize(job.getSize());
+        info.setMessage(job.getMessage());
+        info.setCreateTime(job.getCreateTime());
+        info.setFinishTime(job.getFinishTime());
+        return info;
+    }
+
+}
@@ -0,0 +1,257 @@
+package com.ws.base.export;
+
+import com.ws.enu.ExportJobStatus;
+import com.ws.exception.IException;
+import com.ws.tool.StringUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author GSF
+ * <p>异步导出任务,固定数量的工作线程把导出文件写入spool目录,下载时按Range读取文件</p>
+ * <p>任务和文件保存在本机内存和磁盘,多实例部署时需要按任务id路由到提交任务的实例</p>
+ */
+public class ExportJobManager {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportJobManager.class);
+
+    /**
+     * <p>去重key -> 任务</p>
+     **/
+    private static final Map<String, ExportJob> JOBS = new ConcurrentHashMap<>();
+
+    /**
+     * <p>任务id -> 任务,id随机生成,不能由查询条件推算</p>
+     **/
+    private static final Map<String, ExportJob> JOB_IDS = new ConcurrentHashMap<>();
+
+    private static volatile Path spoolDir = Path.of(System.getProperty("java.io.tmpdir"), "ws-export");
+
+    private static volatile long fileTtlMillis = TimeUnit.HOURS.toMillis(1);
+
+    private static volatile ThreadPoolExecutor executor = newExecutor(2, 64);
+
+    /**
+     * <p>启动时由starter根据EnableConfig配置,已提交的任务在原线程池中继续执行</p>
+     *
+     * @param dir         spool目录,为空时使用java.io.tmpdir/ws-export
+     * @param workers     工作线程数
+     * @param queueSize   排队任务数上限,超过时提交失败
+     * @param fileSeconds 导出文件保留时间,单位秒
+     **/
+    public static synchronized void configure(String dir, int workers, int queueSize, long fileSeconds) {
+        if (StringUtil.isNotEmpty(dir)) {
+            spoolDir = Path.of(dir);
+        }
+        fileTtlMillis = TimeUnit.SECONDS.toMillis(fileSeconds);
+        ThreadPoolExecutor old = executor;
+        executor = newExecutor(Math.max(workers, 1), Math.max(queueSize, 1));
+        old.shutdown();
+    }
+
+    private static @NotNull ThreadPoolExecutor newExecutor(int workers, int queueSize) {
+        AtomicInteger index = new AtomicInteger();
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize), runnable -> {
+            Thread thread = new Thread(runnable, StringUtil.concat("ws-export-", String.valueOf(index.incrementAndGet())));
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * <p>相同内容的导出计算出相同的key</p>
+     *
+     * @param parts 实体类、导出格式、提交人、经过listParamFilter的查询条件、数据版本等
+     * @return String sha-256
+     **/
+    public static @NotNull String key(@NotNull String... parts) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                messageDigest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                messageDigest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(messageDigest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * <p>提交导出任务,同一个key已有未失败且文件未过期的任务时直接返回该任务</p>
+     *
+     * @param key         {@link #key(String...)}
+     * @param owner       提交人,查询和下载时核对
+     * @param modelName   实体类全名
+     * @param fileName    下载文件名
+     * @param contentType 下载Content-Type
+     * @param writer      写入导出内容,在工作线程中执行
+     * @return ExportJob
+     **/
+    public static @NotNull ExportJob submit(@NotNull String key, String owner, String modelName, String fileName, String contentType, @NotNull ExportWriter writer) {
+        cleanExpired();
+        try {
+            return JOBS.compute(key, (k, job) -> {
+                if (Objects.nonNull(job) && isReusable(job)) {
+                    return job;
+                }
+                if (Objects.nonNull(job)) {
+                    JOB_IDS.remove(job.getId());
+                }
+                ExportJob newJob = new ExportJob();
+                newJob.setId(UUID.randomUUID().toString().replace("-", ""));
+                newJob.setOwner(owner);
+                newJob.setModelName(modelName);
+                newJob.setFileName(fileName);
+                newJob.setContentType(contentType);
+                newJob.setCreateTime(System.currentTimeMillis());
+                newJob.setFile(spoolDir.resolve(newJob.getId()));
+                executor.execute(() -> run(newJob, writer));
+                JOB_IDS.put(newJob.getId(), newJob);
+                return newJob;
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("导出任务排队已满: {}", modelName);
+            throw new IException("导出任务过多,请稍后再试");
+        }
+    }
+
+    private static boolean isReusable(@NotNull ExportJob job) {
+        return switch (job.getStatus()) {
+            case waiting, running -> true;
+            case success -> Files.exists(job.getFile()) && !isExpired(job);
+            case fail -> false;
+        };
+    }
+
+    private static boolean isExpired(@NotNull ExportJob job) {
+        return job.getFinishTime() > 0 && System.currentTimeMillis() - job.getFinishTime() > fileTtlMillis;
+    }
+
+    private static void run(@NotNull ExportJob job, @NotNull ExportWriter writer) {
+        job.setStatus(ExportJobStatus.running);
+        Path part = job.getFile().resolveSibling(StringUtil.concat(job.getId(), ".part"));
+        try {
+            Files.createDirectories(part.getParent());
+            try (OutputStream outputStream = Files.newOutputStream(part)) {
+                writer.write(outputStream);
+            }
+            Files.move(part, job.getFile(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.setSize(Files.size(job.getFile()));
+            job.setFinishTime(System.currentTimeMillis());
+            job.setStatus(ExportJobStatus.success);
+        } catch (Exception e) {
+            log.error("导出任务失败: {}", job.getId(), e);
+            try {
+                Files.deleteIfExists(part);
+            } catch (IOException ignored) {
+            }
+            job.setMessage(e.getMessage());
+            job.setFinishTime(System.currentTimeMillis());
+            job.setStatus(ExportJobStatus.fail);
+        }
+    }
+
+    /**
+     * <p>删除过期的任务和文件</p>
+     **/
+    public static void cleanExpired() {
+        JOBS.values().removeIf(job -> {
+            if (!isExpired(job)) {
+                return false;
+            }
+            try {
+                Files.deleteIfExists(job.getFile());
+            } catch (IOException e) {
+                log.warn("删除导出文件失败: {}", job.getFile());
+            }
+            JOB_IDS.remove(job.getId());
+            return true;
+        });
+    }
+
+    public static @Nullable ExportJob get(String id) {
+        ExportJob job = JOB_IDS.get(id);
+        return Objects.isNull(job) || isExpired(job) ? null : job;
+    }
+
+    /**
+     * <p>下载导出文件,支持单个Range(bytes=start-end, bytes=start-, bytes=-suffix),文件通过FileChannel.transferTo写入响应</p>
+     *
+     * @param job      已完成的任务
+     * @param request  HttpServletRequest
+     * @param response HttpServletResponse
+     **/
+    public static void download(@NotNull ExportJob job, @NotNull HttpServletRequest request, @NotNull HttpServletResponse response) throws IOException {
+        if (job.getStatus() != ExportJobStatus.success || !Files.exists(job.getFile())) {
+            throw new IException("导出任务未完成");
+        }
+        long length = Files.size(job.getFile());
+        long start = 0;
+        long end = length - 1;
+        response.setHeader("Accept-Ranges", "bytes");
+        String range = request.getHeader("Range");
+        if (StringUtil.isNotEmpty(range) && range.startsWith("bytes=") && !range.contains(",")) {
+            String[] bounds = range.substring(6).trim().split("-", 2);
+            try {
+                if (bounds[0].isEmpty()) {
+                    start = Math.max(length - Long.parseLong(bounds[1]), 0);
+                } else {
+                    start = Long.parseLong(bounds[0]);
+                    if (bounds.length > 1 && !bounds[1].isEmpty()) {
+                        end = Math.min(Long.parseLong(bounds[1]), length - 1);
+                    }
+                }
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                start = -1;
+            }
+            if (start < 0 || start > end) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader("Content-Range", StringUtil.concat("bytes */", String.valueOf(length)));
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader("Content-Range", StringUtil.concat("bytes ", String.valueOf(start), "-", String.valueOf(end), "/", String.valueOf(length)));
+        }
+        response.setContentType(job.getContentType());
+        response.setHeader("Content-Disposition", "attachment;filename=" + job.getFileName());
+        response.setContentLengthLong(end - start + 1);
+        try (FileChannel fileChannel = FileChannel.open(job.getFile(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = end - start + 1;
+            while (remaining > 0) {
+                long count = fileChannel.transferTo(position, remaining, target);
+                if (count <= 0) {
+                    break;
+                }
+                position += count;
+                remaining -= count;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.ws.base.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * @author GSF
+ * <p>把导出内容写入输出流,不关闭输出流</p>
+ */
+@FunctionalInterface
+public interface ExportWriter {
+
+    void write(OutputStream outputStream) throws IOException;
+
+}
@@ -1,6 +1,7 @@
 package com.ws.base.mapper;
 
 import com.ws.base.model.BaseModel;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.util.List;
 import java.util.Map;
@@ -27,6 +28,23 @@ public interface BaseDataMapper<T extends BaseModel> extends BaseMapper {
      **/
     int _batchSave(List<T> modelList);
 
+    /**
+     * <p>插入或更新,主键冲突时更新非空字段</p>
+     * <p>需要生成xml时有对应实现(目前是mysql),否则调用会抛出BindingException</p>
+     *
+     * @param model 保存参数,继承 {@link BaseModel}
+     * @return int 影响行数
+     **/
+    int _upsert(T model);
+
+    /**
+     * <p>批量插入或更新</p>
+     *
+     * @param modelList 保存参数,继承 {@link BaseModel}
+     * @return int 影响行数
+     **/
+    int _batchUpsert(List<T> modelList);
+
     /**
      * <p>删除</p>
      *
@@ -35,6 +53,23 @@ public interface BaseDataMapper<T extends BaseModel> extends BaseMapper {
      **/
     int _delete(Map<String, Object> map);
 
+    /**
+     * <p>按主键列表删除</p>
+     *
+     * @param ids 主键列表
+     * @return int 影响行数
+     **/
+    int _deleteByIds(List<?> ids);
+
+    /**
+     * <p>按条件删除,每次最多删除deleteLimit行</p>
+     * <p>需要生成xml时有对应实现(目前是mysql),否则调用会抛出BindingException</p>
+     *
+     * @param map 删除条件,deleteLimit为本次最多删除行数
+     * @return int 影响行数
+     **/
+    int _deleteLimit(Map<String, Object> map);
+
     /**
      * <p>更新</p>
      *
@@ -59,6 +94,15 @@ public interface BaseDataMapper<T extends BaseModel> extends BaseMapper {
      **/
     List<Map<String, Object>> _getList(Map<String, Object> map);
 
+    /**
+     * <p>查询列表,每行带count(*) over()的_total列</p>
+     * <p>实体类开启windowTotal生成xml时才有实现,否则调用会抛出BindingException</p>
+     *
+     * @param map 查询条件
+     * @return List Map String Object
+     **/
+    List<Map<String, Object>> _getPage(Map<String, Object> map);
+
     /**
      * <p>查询列表</p>
      *
@@ -67,6 +111,24 @@ public interface BaseDataMapper<T extends BaseModel> extends BaseMapper {
      **/
     List<T> _getNestList(Map<String, Object> map);
 
+    /**
+     * <p>流式查询列表,不分页</p>
+     * <p>需要在事务中调用,SqlSession在事务结束时关闭,Cursor随之关闭</p>
+     *
+     * @param map 查询条件
+     * @return Cursor Map String Object
+     **/
+    Cursor<Map<String, Object>> _getListCursor(Map<String, Object> map);
+
+    /**
+     * <p>流式查询嵌套列表,不分页</p>
+     * <p>需要在事务中调用,SqlSession在事务结束时关闭,Cursor随之关闭</p>
+     *
+     * @param map 查询条件
+     * @return Cursor T extends BaseModel
+     **/
+    Cursor<T> _getNestListCursor(Map<String, Object> map);
+
     /**
      * <p>数据条数</p>
      *
@@ -75,4 +137,12 @@ public interface BaseDataMapper<T extends BaseModel> extends BaseMapper {
      **/
     int _getTotal(Map<String, Object> map);
 
+    /**
+     * <p>表统计信息中的近似条数</p>
+     * <p>需要生成xml时有对应实现(目前是mysql),否则调用会抛出BindingException</p>
+     *
+     * @return Integer 近似条数,没有统计信息时为null
+     **/
+    Integer _getApproximateTotal();
+
 }
@@ -1,24 +1,20 @@
 package com.ws.base.model;
 
-import cn.hutool.core.convert.Convert;
 import com.alibaba.fastjson2.JSON;
 import com.alibaba.fastjson2.JSONWriter;
 import com.alibaba.fastjson2.filter.ValueFilter;
-import com.ws.annotation.Column;
+import com.ws.cache.convert.FieldConverter;
 import com.ws.tool.CacheTool;
 import com.ws.tool.RequestUtil;
-import com.ws.tool.StringUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.Field;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * @author GSF
@@ -31,17 +27,57 @@ public class BaseModel implements Serializable {
     }
 
     public Map<String, Field> modelFieldsMap() {
-        return this.modelFields().stream().collect(Collectors.toMap(Field::getName, value -> value));
+        return CacheTool.getModelFieldsMap(this.getClass());
+    }
+
+    @SuppressWarnings("unchecked")
+    public ModelAccessor<BaseModel> modelAccessor() {
+        return (ModelAccessor<BaseModel>) CacheTool.getModelAccessor(this.getClass());
+    }
+
+    /**
+     * <p>属性名对应的slot</p>
+     *
+     * @param name 属性名
+     * @return int 不存在时返回-1
+     **/
+    public int modelFieldSlot(String name) {
+        return this.modelAccessor().slot(name);
+    }
+
+    /**
+     * <p>按slot顺序缓存的属性类型转换器</p>
+     **/
+    public FieldConverter[] modelConverters() {
+        return CacheTool.getModelConverters(this.getClass());
+    }
+
+    public Object modelValue(int slot) {
+        return this.modelAccessor().get(this, slot);
+    }
+
+    /**
+     * <p>按slot写入属性值,值为null时不处理,和按map写入保持一致</p>
+     *
+     * @param slot  属性下标
+     * @param value 属性值,会转换成属性类型
+     **/
+    public void setModelValue(int slot, Object value) {
+        if (Objects.nonNull(value)) {
+            this.modelAccessor().set(this, slot, this.modelConverters()[slot].convert(value));
+        }
     }
 
     public void setModelAnyValueByFieldName(String name, Object value) {
-        this.setModelValuesFromMapByFieldName(new HashMap<>() {{
-            put(name, value);
-        }});
+        int slot = this.modelFieldSlot(name);
+        if (slot >= 0) {
+            this.setModelValue(slot, value);
+        }
     }
 
     public Object modelAnyValueByFieldName(String name) {
-        return this.toMap().get(name);
+        int slot = this.modelFieldSlot(name);
+        return slot >= 0 ? this.modelValue(slot) : null;
     }
 
     public @Nullable Field modelPrimaryField() {
@@ -50,38 +86,29 @@ public class BaseModel implements Serializable {
 
     public void setModelValuesFromMapByFieldName(Map<String, Object> map) {
         if (Objects.nonNull(map)) {
-            Map<String, Field> fields = this.modelFieldsMap();
-            fields.forEach((fieldName, field) -> {
-                if (Objects.nonNull(map.get(fieldName))) {
-                    field.setAccessible(true);
-                    try {
-                        field.set(this, Convert.convert(field.getType(), map.get(fieldName)));
-                    } catch (IllegalAccessException e) {
-                        throw new RuntimeException(e);
-                    }
+            ModelAccessor<BaseModel> accessor = this.modelAccessor();
+            FieldConverter[] converters = this.modelConverters();
+            List<String> fieldNames = accessor.fieldNames();
+            for (int slot = 0; slot < fieldNames.size(); slot++) {
+                Object value = map.get(fieldNames.get(slot));
+                if (Objects.nonNull(value)) {
+                    accessor.set(this, slot, converters[slot].convert(value));
                 }
-            });
+            }
         }
     }
 
     public void setModelValuesFromMapByFieldNameWithTitle(Map<String, Object> map) {
         if (Objects.nonNull(map)) {
-            Map<String, Field> fields = this.modelFieldsMap();
-            fields.forEach((fieldName, field) -> {
-                String title = fieldName;
-                Column annotation = field.getAnnotation(Column.class);
-                if (Objects.nonNull(annotation) && StringUtil.isNotEmpty(annotation.title())) {
-                    title = annotation.title();
-                }
-                if (Objects.nonNull(map.get(title))) {
-                    field.setAccessible(true);
-                    try {
-                        field.set(this, Convert.convert(field.getType(), map.get(title)));
-                    } catch (IllegalAccessException e) {
-                        throw new RuntimeException(e);
-                    }
+            ModelAccessor<BaseModel> accessor = this.modelAccessor();
+            FieldConverter[] converters = this.modelConverters();
+            String[] titles = CacheTool.getModelTitles(this.getClass());
+            for (int slot = 0; slot < titles.length; slot++) {
+                Object value = map.get(titles[slot]);
+                if (Objects.nonNull(value)) {
+                    accessor.set(this, slot, converters[slot].convert(value));
                 }
-            });
+            }
         }
     }
 
@@ -94,7 +121,7 @@ public class BaseModel implements Serializable {
     }
 
     public boolean fieldIsExist(String name) {
-        return this.modelFieldsMap().containsKey(name);
+        return this.modelFieldSlot(name) >= 0;
     }
 
     public boolean fieldIsExist(Field field) {
@@ -112,17 +139,16 @@ public class BaseModel implements Serializable {
     }
 
     public Map<String, Object> toMap() {
-        List<Field> fields = this.modelFields();
-        Map<String, Object> map = new HashMap<>(fields.size());
-        fields.forEach(field -> {
-            field.setAccessible(true);
-            try {
-                map.put(field.getName(), field.get(this));
-            } catch (IllegalAccessException e) {
-                throw new RuntimeException(e);
-            }
-        });
-        return map;
+        return this.modelAccessor().toMap(this);
+    }
+
+    /**
+     * <p>不复制属性的Map视图,只读场景(查询参数,导出)用它代替toMap</p>
+     *
+     * @return Map<String, Object>
+     **/
+    public Map<String, Object> asMap() {
+        return new ModelMapView<>(this, this.modelAccessor());
     }
 
     public String toJson() {
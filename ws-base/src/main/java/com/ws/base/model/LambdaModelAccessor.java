@@ -0,0 +1,194 @@
+package com.ws.base.model;
+
+import cn.hutool.core.util.StrUtil;
+import com.ws.tool.StringUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * @author GSF
+ * <p>运行时构建的属性访问器</p>
+ * <p>优先通过LambdaMetafactory把get/set方法绑定成lambda,没有对应方法时退回到属性的MethodHandle</p>
+ */
+@Slf4j
+public class LambdaModelAccessor<T extends BaseModel> implements ModelAccessor<T> {
+
+    private final List<String> fieldNames;
+    private final Map<String, Integer> slots;
+    private final Class<?>[] fieldTypes;
+    private final Function<Object, Object>[] getters;
+    private final BiConsumer<Object, Object>[] setters;
+
+    @SuppressWarnings("unchecked")
+    public LambdaModelAccessor(@NotNull Class<T> modelClazz, @NotNull List<Field> fields) {
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(modelClazz, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(StrUtil.format("无法访问实体类: {}", modelClazz.getName()), e);
+        }
+        int size = fields.size();
+        this.fieldNames = fields.stream().map(Field::getName).toList();
+        this.slots = new HashMap<>((int) (size / 0.75f) + 1);
+        this.fieldTypes = new Class<?>[size];
+        this.getters = new Function[size];
+        this.setters = new BiConsumer[size];
+        for (int slot = 0; slot < size; slot++) {
+            Field field = fields.get(slot);
+            this.slots.put(field.getName(), slot);
+            this.fieldTypes[slot] = field.getType();
+            this.getters[slot] = createGetter(lookup, modelClazz, field);
+            this.setters[slot] = createSetter(lookup, modelClazz, field);
+        }
+    }
+
+    @Override
+    public List<String> fieldNames() {
+        return this.fieldNames;
+    }
+
+    @Override
+    public int slot(String name) {
+        Integer slot = this.slots.get(name);
+        return slot == null ? -1 : slot;
+    }
+
+    @Override
+    public Class<?> fieldType(int slot) {
+        return this.fieldTypes[slot];
+    }
+
+    @Override
+    public Object get(T model, int slot) {
+        return this.getters[slot].apply(model);
+    }
+
+    @Override
+    public void set(T model, int slot, Object value) {
+        this.setters[slot].accept(model, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @NotNull Function<Object, Object> createGetter(MethodHandles.Lookup lookup, Class<?> modelClazz, @NotNull Field field) {
+        Method getMethod = findGetMethod(modelClazz, field);
+        if (getMethod != null && lookup.hasFullPrivilegeAccess()) {
+            try {
+                MethodHandle handle = lookup.unreflect(getMethod);
+                CallSite callSite = LambdaMetafactory.metafactory(
+                        lookup,
+                        "apply",
+                        MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class),
+                        handle,
+                        MethodType.methodType(MethodType.methodType(field.getType()).wrap().returnType(), modelClazz)
+                );
+                return (Function<Object, Object>) callSite.getTarget().invokeExact();
+            } catch (Throwable e) {
+                log.debug("属性: {}.{} 的get方法无法绑定,使用MethodHandle", modelClazz.getName(), field.getName(), e);
+            }
+        }
+        MethodHandle handle;
+        try {
+            handle = fieldLookup(lookup, modelClazz, field).unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(StrUtil.format("无法访问属性: {}.{}", modelClazz.getName(), field.getName()), e);
+        }
+        return model -> {
+            try {
+                return (Object) handle.invokeExact(model);
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @NotNull BiConsumer<Object, Object> createSetter(MethodHandles.Lookup lookup, Class<?> modelClazz, @NotNull Field field) {
+        Method setMethod = findSetMethod(modelClazz, field);
+        if (setMethod != null && lookup.hasFullPrivilegeAccess()) {
+            try {
+                MethodHandle handle = lookup.unreflect(setMethod);
+                CallSite callSite = LambdaMetafactory.metafactory(
+                        lookup,
+                        "accept",
+                        MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class),
+                        handle,
+                        MethodType.methodType(void.class, modelClazz, MethodType.methodType(field.getType()).wrap().returnType())
+                );
+                return (BiConsumer<Object, Object>) callSite.getTarget().invokeExact();
+            } catch (Throwable e) {
+                log.debug("属性: {}.{} 的set方法无法绑定,使用MethodHandle", modelClazz.getName(), field.getName(), e);
+            }
+        }
+        MethodHandle handle;
+        try {
+            handle = fieldLookup(lookup, modelClazz, field).unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+//            final属性拿不到setter句柄,保持原先反射写入的行为
+            field.setAccessible(true);
+            return (model, value) -> {
+                try {
+                    field.set(model, value);
+                } catch (IllegalAccessException ex) {
+                    throw new RuntimeException(ex);
+                }
+            };
+        }
+        return (model, value) -> {
+            try {
+                handle.invokeExact(model, value);
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        };
+    }
+
+    /**
+     * <p>父类声明的私有属性需要在声明类上取Lookup</p>
+     **/
+    private static MethodHandles.Lookup fieldLookup(MethodHandles.Lookup lookup, Class<?> modelClazz, @NotNull Field field) throws IllegalAccessException {
+        if (field.getDeclaringClass() == modelClazz) {
+            return lookup;
+        }
+        return MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+    }
+
+    private static @Nullable Method findGetMethod(@NotNull Class<?> modelClazz, @NotNull Field field) {
+        String prefix = field.getType() == boolean.class ? "is" : "get";
+        try {
+            Method method = modelClazz.getMethod(StringUtil.concat(prefix, StrUtil.upperFirst(field.getName())));
+            if (method.getReturnType() == field.getType() && !Modifier.isStatic(method.getModifiers())) {
+                return method;
+            }
+        } catch (NoSuchMethodException ignore) {
+        }
+        return null;
+    }
+
+    private static @Nullable Method findSetMethod(@NotNull Class<?> modelClazz, @NotNull Field field) {
+        if (Modifier.isFinal(field.getModifiers())) {
+            return null;
+        }
+        try {
+            Method method = modelClazz.getMethod(StringUtil.concat("set", StrUtil.upperFirst(field.getName())), field.getType());
+            if (!Modifier.isStatic(method.getModifiers())) {
+                return method;
+            }
+        } catch (NoSuchMethodException ignore) {
+        }
+        return null;
+    }
+
+}
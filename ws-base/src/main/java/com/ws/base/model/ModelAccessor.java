@@ -0,0 +1,90 @@
+package com.ws.base.model;
+
+import com.ws.cache.convert.FieldConverterFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author GSF
+ * <p>实体类属性访问器,按属性下标(slot)读写属性,每个实体类只构建一次,缓存在{@link com.ws.cache.ModelCache}</p>
+ */
+public interface ModelAccessor<T extends BaseModel> {
+
+    /**
+     * <p>属性名列表,列表下标即属性slot</p>
+     *
+     * @return List<String>
+     **/
+    List<String> fieldNames();
+
+    /**
+     * <p>属性名对应的slot</p>
+     *
+     * @param name 属性名
+     * @return int 不存在时返回-1
+     **/
+    int slot(String name);
+
+    /**
+     * <p>slot对应的属性类型</p>
+     *
+     * @param slot 属性下标
+     * @return Class
+     **/
+    Class<?> fieldType(int slot);
+
+    /**
+     * <p>读取属性值</p>
+     *
+     * @param model 实体类
+     * @param slot  属性下标
+     * @return Object
+     **/
+    Object get(T model, int slot);
+
+    /**
+     * <p>写入属性值,不做类型转换</p>
+     *
+     * @param model 实体类
+     * @param slot  属性下标
+     * @param value 属性值,类型需要和属性类型一致
+     **/
+    void set(T model, int slot, Object value);
+
+    default int size() {
+        return this.fieldNames().size();
+    }
+
+    default String fieldName(int slot) {
+        return this.fieldNames().get(slot);
+    }
+
+    default Map<String, Object> toMap(T model) {
+        List<String> fieldNames = this.fieldNames();
+        int size = fieldNames.size();
+        Map<String, Object> map = new HashMap<>((int) (size / 0.75f) + 1);
+        for (int slot = 0; slot < size; slot++) {
+            map.put(fieldNames.get(slot), this.get(model, slot));
+        }
+        return map;
+    }
+
+    /**
+     * <p>按属性名从map写入属性值,值为null的不处理,其余转换成属性类型后写入</p>
+     *
+     * @param model 实体类
+     * @param map   {fieldName : value}
+     **/
+    default void fromMap(T model, Map<String, Object> map) {
+        List<String> fieldNames = this.fieldNames();
+        for (int slot = 0; slot < fieldNames.size(); slot++) {
+            Object value = map.get(fieldNames.get(slot));
+            if (value != null) {
+                this.set(model, slot, FieldConverterFactory.getInstance().create(this.fieldType(slot)).convert(value));
+            }
+        }
+    }
+
+}
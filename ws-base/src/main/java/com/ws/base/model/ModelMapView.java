@@ -0,0 +1,195 @@
+package com.ws.base.model;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * @author GSF
+ * <p>实体类的Map视图,读取直接走{@link ModelAccessor}的slot,不复制属性</p>
+ * <p>写入和删除只记录在视图上,不会回写实体类,避免参数过滤时改动调用方传入的实体类</p>
+ */
+public class ModelMapView<T extends BaseModel> extends AbstractMap<String, Object> {
+
+    private final T model;
+    private final ModelAccessor<T> accessor;
+    /**
+     * <p>非属性的key,以及被覆盖的属性值</p>
+     **/
+    private Map<String, Object> overlay;
+    /**
+     * <p>被删除的属性slot</p>
+     **/
+    private BitSet removed;
+
+    public ModelMapView(@NotNull T model, @NotNull ModelAccessor<T> accessor) {
+        this.model = model;
+        this.accessor = accessor;
+    }
+
+    public T getModel() {
+        return this.model;
+    }
+
+    private int slot(Object key) {
+        return key instanceof String name ? this.accessor.slot(name) : -1;
+    }
+
+    private boolean isRemoved(int slot) {
+        return this.removed != null && this.removed.get(slot);
+    }
+
+    private boolean isOverlay(Object key) {
+        return this.overlay != null && this.overlay.containsKey(key);
+    }
+
+    private boolean isVisibleSlot(int slot) {
+        return !this.isRemoved(slot) && !this.isOverlay(this.accessor.fieldName(slot));
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (this.isOverlay(key)) {
+            return this.overlay.get(key);
+        }
+        int slot = this.slot(key);
+        if (slot >= 0 && !this.isRemoved(slot)) {
+            return this.accessor.get(this.model, slot);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (this.isOverlay(key)) {
+            return true;
+        }
+        int slot = this.slot(key);
+        return slot >= 0 && !this.isRemoved(slot);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Object old = this.get(key);
+        if (this.overlay == null) {
+            this.overlay = new HashMap<>();
+        }
+        this.overlay.put(key, value);
+        int slot = this.slot(key);
+        if (slot >= 0 && this.removed != null) {
+            this.removed.clear(slot);
+        }
+        return old;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        Object old = this.get(key);
+        if (this.overlay != null) {
+            this.overlay.remove(key);
+        }
+        int slot = this.slot(key);
+        if (slot >= 0) {
+            if (this.removed == null) {
+                this.removed = new BitSet(this.accessor.size());
+            }
+            this.removed.set(slot);
+        }
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        this.overlay = null;
+        this.removed = new BitSet(this.accessor.size());
+        this.removed.set(0, this.accessor.size());
+    }
+
+    @Override
+    public int size() {
+        int size = this.overlay == null ? 0 : this.overlay.size();
+        for (int slot = 0; slot < this.accessor.size(); slot++) {
+            if (this.isVisibleSlot(slot)) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public @NotNull Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public @NotNull Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return ModelMapView.this.size();
+            }
+        };
+    }
+
+    private class EntryIterator implements Iterator<Entry<String, Object>> {
+
+        private int slot = this.nextSlot(0);
+        private final Iterator<Entry<String, Object>> overlayIterator = overlay == null ? Collections.emptyIterator() : overlay.entrySet().iterator();
+        /**
+         * <p>上一次next返回的属性slot,-1时上一次返回的是overlay中的key,-2时还没有返回或已经删除</p>
+         **/
+        private int lastSlot = -2;
+        private String lastOverlayKey;
+
+        private int nextSlot(int from) {
+            int slot = from;
+            while (slot < accessor.size() && !isVisibleSlot(slot)) {
+                slot++;
+            }
+            return slot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.slot < accessor.size() || this.overlayIterator.hasNext();
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (this.slot < accessor.size()) {
+                Entry<String, Object> entry = new SimpleImmutableEntry<>(accessor.fieldName(this.slot), accessor.get(model, this.slot));
+                this.lastSlot = this.slot;
+                this.slot = this.nextSlot(this.slot + 1);
+                return entry;
+            }
+            Entry<String, Object> entry = this.overlayIterator.next();
+            this.lastSlot = -1;
+            this.lastOverlayKey = entry.getKey();
+            return entry;
+        }
+
+        /**
+         * <p>和{@link ModelMapView#remove(Object)}一致,属性只标记为删除,不改动实体类</p>
+         **/
+        @Override
+        public void remove() {
+            if (this.lastSlot == -2) {
+                throw new IllegalStateException();
+            }
+            int removedSlot = this.lastSlot;
+            if (removedSlot == -1) {
+                this.overlayIterator.remove();
+                removedSlot = slot(this.lastOverlayKey);
+            }
+            if (removedSlot >= 0) {
+                if (removed == null) {
+                    removed = new BitSet(accessor.size());
+                }
+                removed.set(removedSlot);
+            }
+            this.lastSlot = -2;
+        }
+
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.ws.base.result;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * @author GSF
+ * <p>一页数据,service分页查询的返回值</p>
+ */
+@Data
+public class Page<T> implements Serializable {
+
+    /**
+     * <p>本页数据</p>
+     **/
+    List<T> list;
+
+    /**
+     * <p>数据条数,未统计时为-1</p>
+     **/
+    int total = -1;
+
+    /**
+     * <p>是否还有下一页,统计了条数时为null</p>
+     **/
+    Boolean hasMore;
+
+    /**
+     * <p>游标分页时下一页的after参数</p>
+     **/
+    String nextCursor;
+
+    public Page() {
+    }
+
+    public Page(List<T> list, int total) {
+        this.list = list;
+        this.total = total;
+    }
+
+}
@@ -20,6 +20,16 @@ public class ResultTableBody<T> extends ResultBody<T> {
 
     int total = 0;
 
+    /**
+     * <p>游标分页时下一页的after参数,没有下一页时为null</p>
+     **/
+    String nextCursor;
+
+    /**
+     * <p>不统计条数时是否还有下一页,此时total为-1</p>
+     **/
+    Boolean hasMore;
+
     public ResultTableBody() {
     }
 
@@ -39,6 +49,18 @@ public class ResultTableBody<T> extends ResultBody<T> {
         return ResultTableBody.build(data, total, columns, CommonErrorInfo.SUCCESS.getResultCode(), CommonErrorInfo.SUCCESS.getResultMsg(), true);
     }
 
+    public static <T> @NotNull ResultTableBody<T> success(T data, int total, List<ColumnType> columns, String nextCursor) {
+        ResultTableBody<T> resultTableBody = ResultTableBody.success(data, total, columns);
+        resultTableBody.setNextCursor(nextCursor);
+        return resultTableBody;
+    }
+
+    public static <T> @NotNull ResultTableBody<List<T>> success(@NotNull Page<T> page, List<ColumnType> columns) {
+        ResultTableBody<List<T>> resultTableBody = ResultTableBody.success(page.getList(), page.getTotal(), columns, page.getNextCursor());
+        resultTableBody.setHasMore(page.getHasMore());
+        return resultTableBody;
+    }
+
     public static <T> @NotNull ResultTableBody<T> success(T data, int total) {
         return ResultTableBody.build(data, total, List.of(), CommonErrorInfo.SUCCESS.getResultCode(), CommonErrorInfo.SUCCESS.getResultMsg(), true);
     }
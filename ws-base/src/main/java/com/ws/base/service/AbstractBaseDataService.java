@@ -2,34 +2,94 @@ package com.ws.base.service;
 
 import cn.hutool.core.util.StrUtil;
 import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelReader;
+import com.alibaba.excel.read.metadata.ReadSheet;
 import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONWriter;
 import com.ws.annotation.Column;
 import com.ws.annotation.Data;
-import com.ws.base.controller.daoru.ModelDataListener;
+import com.ws.base.controller.daoru.ImportProgress;
+import com.ws.base.controller.daoru.ImportResult;
+import com.ws.base.controller.daoru.ImportTaskExecutor;
+import com.ws.base.controller.daoru.ModelImportListener;
+import com.ws.base.export.ExportJob;
+import com.ws.base.export.ExportJobManager;
+import com.ws.base.export.ExportWriter;
 import com.ws.base.mapper.BaseDataMapper;
 import com.ws.base.model.BaseModel;
+import com.ws.base.model.ModelAccessor;
+import com.ws.base.result.Page;
+import com.ws.cache.TotalCache;
+import com.ws.cache.convert.FieldConverter;
+import com.ws.enu.BatchSaveMode;
 import com.ws.enu.CommonErrorInfo;
 import com.ws.exception.IException;
 import com.ws.tool.CacheTool;
+import com.ws.tool.CsvWriter;
+import com.ws.tool.ExcelBatchWriter;
 import com.ws.tool.ExcelUtil;
+import com.ws.tool.NdjsonWriter;
 import com.ws.tool.StringUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
+import org.apache.ibatis.transaction.Transaction;
 import org.mybatis.spring.MyBatisSystemException;
+import org.mybatis.spring.SqlSessionTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.ResourceTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.sql.DataSource;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * @author GSF
@@ -39,6 +99,81 @@ public abstract class AbstractBaseDataService<P, M extends BaseDataMapper<T>, T
 
     public Logger log = LoggerFactory.getLogger(this.getClass());
 
+    public static final String UPSERT_STATEMENT = "_upsert";
+    public static final String BATCH_UPSERT_STATEMENT = "_batchUpsert";
+    public static final String SAVE_STATEMENT = "_save";
+    public static final String UPDATE_STATEMENT = "_update";
+    public static final String APPROXIMATE_TOTAL_STATEMENT = "_getApproximateTotal";
+    public static final String GET_PAGE_STATEMENT = "_getPage";
+    public static final String GET_LIST_CURSOR_STATEMENT = "_getListCursor";
+    public static final String GET_NEST_LIST_CURSOR_STATEMENT = "_getNestListCursor";
+    public static final String WINDOW_TOTAL_COLUMN = "_total";
+    public static final String CURSOR_AFTER_PARAM = "after";
+    public static final String CURSOR_MODE_PARAM = "cursor";
+    public static final String SKIP_TOTAL_PARAM = "skipTotal";
+    private static final String SLICE_MODE_PARAM = "sliceMode";
+    private static final List<Map<String, Object>> END_OF_BATCHES = new ArrayList<>(0);
+    private static final ExecutorService QUERY_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+    public static final Set<String> EXPORT_IGNORE_PARAMS = Set.of("fileName", "pageIndex", "pageSize", "gzip", "sliceMode", "skipTotal");
+    public static final Set<String> LIST_CONTROL_PARAMS = Set.of("pageIndex", "pageSize", "order", "orderColumn", "after", "cursor", "skipTotal", "sliceMode", "seekMode", "seekOrder", "seekOperator", "seekColumn", "seekDesc", "seekValue", "seekId");
+    private static final Set<String> EXPORT_ORDER_PARAMS = Set.of("order", "orderColumn");
+    public static final Set<String> SEEK_PARAMS = Set.of("seekMode", "seekOrder", "seekOperator", "seekColumn", "seekValue", "seekId", "seekDesc");
+    private static final String DATA_CHANGED_RESOURCE = "ws.dataChanged.";
+    public static final String DELETE_BY_IDS_STATEMENT = "_deleteByIds";
+    public static final String DELETE_LIMIT_STATEMENT = "_deleteLimit";
+    /**
+     * <p>按主键删除时in列表的固定长度,末尾不足时用最后一个主键补齐,sql形态最多只有这几种</p>
+     **/
+    public static final int[] DELETE_ID_CHUNK_SIZES = {1, 8, 32, 128};
+
+    private ObjectProvider<SqlSessionFactory> sqlSessionFactoryProvider;
+    private ObjectProvider<PlatformTransactionManager> transactionManagerProvider;
+    private final Map<String, Boolean> statementSupport = new ConcurrentHashMap<>();
+    private volatile SqlSessionFactory sqlSessionFactory;
+    private volatile PlatformTransactionManager transactionManager;
+    private volatile SqlSessionTemplate sqlSessionTemplate;
+    private volatile Boolean batchRewriteSupport;
+
+    @Autowired
+    public void setTransactionManagerProvider(ObjectProvider<PlatformTransactionManager> transactionManagerProvider) {
+        this.transactionManagerProvider = transactionManagerProvider;
+    }
+
+    @Autowired
+    public void setSqlSessionFactoryProvider(ObjectProvider<SqlSessionFactory> sqlSessionFactoryProvider) {
+        this.sqlSessionFactoryProvider = sqlSessionFactoryProvider;
+    }
+
+    /**
+     * <p>注册了本service的mapper的SqlSessionFactory,多数据源时按mapper所在的factory选择,找到后缓存</p>
+     * <p>也可以重写直接指定</p>
+     *
+     * @return SqlSessionFactory 没有注册该mapper的factory时返回null
+     **/
+    public @Nullable SqlSessionFactory getSqlSessionFactory() {
+        SqlSessionFactory factory = this.sqlSessionFactory;
+        if (Objects.isNull(factory) && Objects.nonNull(this.sqlSessionFactoryProvider)) {
+            Class<?> mapperClazz = this.getMapperClazz();
+            factory = this.sqlSessionFactoryProvider.orderedStream().filter(item -> item.getConfiguration().hasMapper(mapperClazz)).findFirst().orElse(null);
+            this.sqlSessionFactory = factory;
+        }
+        return factory;
+    }
+
+    /**
+     * <p>mapper xml中是否有对应语句,老版本生成的xml没有_upsert等语句时用来回退</p>
+     *
+     * @param statementName 语句id,比如_upsert
+     * @return boolean
+     **/
+    public boolean hasStatement(String statementName) {
+        SqlSessionFactory sqlSessionFactory = this.getSqlSessionFactory();
+        if (Objects.isNull(sqlSessionFactory)) {
+            return false;
+        }
+        return this.statementSupport.computeIfAbsent(statementName, key -> sqlSessionFactory.getConfiguration().hasStatement(StringUtil.concat(this.getMapperClazz().getName(), ".", key), false));
+    }
+
     /**
      * <p>获取对应mapper</p>
      *
@@ -60,17 +195,79 @@ public abstract class AbstractBaseDataService<P, M extends BaseDataMapper<T>, T
             log.error("实体类需要指定主键字段");
             throw new IException(CommonErrorInfo.SERVER_ERROR);
         }
-        Object primaryValue = model.modelAnyValueByFieldName(modelPrimaryField.getName());
+        Object primaryValue = model.modelValue(model.modelFieldSlot(modelPrimaryField.getName()));
         if (StringUtil.isNotEmpty(primaryValue) && Objects.nonNull(this.select(modelPrimaryField.getName(), primaryValue))) {
             return this.update(model);
         }
         model = this.saveParamFilter(model);
         if (this.saveValidate(model)) {
-            return this.getMapper()._save(model);
+            int count = this.getMapper()._save(model);
+            this.markDataChanged();
+            return count;
+        }
+        throw new IException(CommonErrorInfo.BODY_NOT_MATCH);
+    }
+
+    /**
+     * <p>插入或更新,一条语句完成,不再先查询;需要显式调用,{@link #save(BaseModel)}仍然先查询再更新或插入</p>
+     * <p>主键冲突时只更新非空字段,创建时间不更新;mysql下影响行数插入为1,更新为2,无变化为0</p>
+     * <p>insert部分包含全部字段,只传部分字段时not null列会因为null值报错;任意唯一索引冲突都会走更新;
+     * 参数处理和校验走saveParamFilter/saveValidate,不会调用updateParamFilter/updateValidate</p>
+     * <p>xml中没有_upsert时等同于{@link #save(BaseModel)}</p>
+     *
+     * @param model extends {@link BaseModel}
+     * @return int
+     **/
+    @Transactional(rollbackFor = Exception.class)
+    public int upsert(@NotNull T model) {
+        if (!this.hasStatement(UPSERT_STATEMENT)) {
+            return this.save(model);
+        }
+        model = this.upsertParamFilter(model);
+        if (this.saveValidate(model)) {
+            int count = this.getMapper()._upsert(model);
+            this.markDataChanged();
+            return count;
+        }
+        throw new IException(CommonErrorInfo.BODY_NOT_MATCH);
+    }
+
+    /**
+     * <p>批量插入或更新,xml中没有_batchUpsert时逐条保存</p>
+     *
+     * @param modelList 实体类列表
+     * @return int
+     **/
+    @Transactional(rollbackFor = Exception.class)
+    public int batchUpsert(@NotNull List<T> modelList) {
+        if (modelList.isEmpty()) {
+            return 0;
+        }
+        if (!this.hasStatement(BATCH_UPSERT_STATEMENT)) {
+            int count = 0;
+            for (T model : modelList) {
+                count += this.save(model);
+            }
+            return count;
+        }
+        List<T> newModelList = modelList.stream().map(this::upsertParamFilter).toList();
+        if (newModelList.stream().allMatch(this::saveValidate)) {
+            int count = this.getMapper()._batchUpsert(newModelList);
+            this.markDataChanged();
+            return count;
         }
         throw new IException(CommonErrorInfo.BODY_NOT_MATCH);
     }
 
+    public T upsertParamFilter(@NotNull T model) {
+        model = this.saveParamFilter(model);
+        int updatedAtSlot = model.modelFieldSlot("updatedAt");
+        if (updatedAtSlot >= 0) {
+            model.setModelValue(updatedAtSlot, new Date());
+        }
+        return model;
+    }
+
     /**
      * <p>保存</p>
      *
@@ -97,11 +294,13 @@ public abstract class AbstractBaseDataService<P, M extends BaseDataMapper<T>, T
             log.error("实体类需要指定主键字段");
             throw new IException(CommonErrorInfo.SERVER_ERROR);
         }
-        if (StringUtil.isEmpty(model.modelAnyValueByFieldName(modelPrimaryField.getName())) && modelPrimaryField.getType().equals(String.class)) {
-            model.setModelAnyValueByFieldName(modelPrimaryField.getName(), this.getUUID());
+        int primarySlot = model.modelFieldSlot(modelPrimaryField.getName());
+        if (StringUtil.isEmpty(model.modelValue(primarySlot)) && modelPrimaryField.getType().equals(String.class)) {
+            model.setModelValue(primarySlot, this.getUUID());
         }
-        if (model.fieldIsExist("createdAt") && Objects.isNull(model.modelAnyValueByFieldName("createdAt"))) {
-            model.setModelAnyValueByFieldName("createdAt", new Date());
+        int createdAtSlot = model.modelFieldSlot("createdAt");
+        if (createdAtSlot >= 0 && Objects.isNull(model.modelValue(createdAtSlot))) {
+            model.setModelValue(createdAtSlot, new Date());
         }
         return model;
     }
@@ -132,11 +331,211 @@ public abstract class AbstractBaseDataService<P, M extends BaseDataMapper<T>, T
             return model;
         }).toList();
         if (newModelList.stream().allMatch(this::saveValidate)) {
-            return this.getMapper()._batchSave(modelList);
+            if (newModelList.isEmpty()) {
+                return 0;
+            }
+            if (this.getBatchSaveMode() == BatchSaveMode.executor) {
+                Integer count = this.executorBatchSave(newModelList);
+                if (Objects.nonNull(count)) {
+                    this.markDataChanged();
+                    return count;
+                }
+            }
+            int count = this.getMapper()._batchSave(newModelList);
+            this.markDataChanged();
+            return count;
         }
         throw new IException(CommonErrorInfo.BODY_NOT_MATCH);
     }
 
+    public BatchSaveMode getBatchSaveMode() {
+        Data data = this.getModelClazz().getAnnotation(Data.class);
+        return Objects.isNull(data) ? BatchSaveMode.foreach : data.batchSaveMode();
+    }
+
+    public int getBatchSize() {
+        Data data = this.getModelClazz().getAnnotation(Data.class);
+        return Objects.isNull(data) || data.batchSize() <= 0 ? 500 : data.batchSize();
+    }
+
+    /**
+     * <p>BATCH执行器批量保存,复用_save单行预编译语句,每{@link #getBatchSize()}行flush一次</p>
+     * <p>主键自增时和_save一样通过useGeneratedKeys回填</p>
+     *
+     * @param modelList 已过滤、校验的实体类列表
+     * @return Integer 影响行数,驱动不支持批量重写或没有SqlSessionFactory时返回null,由调用方回退为foreach
+     **/
+    protected @Nullable Integer executorBatchSave(@NotNull List<T> modelList) {
+        List<Integer> counts = this.executeBatch(SAVE_STATEMENT, modelList, true);
+        return Objects.isNull(counts) ? null : counts.stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * <p>BATCH执行器逐条执行同一个语句,每{@link #getBatchSize()}行flush一次</p>
+     * <p>有事务时借用事务中的连接,不会改变事务里SqlSession的执行器类型,后续普通mapper调用不受影响</p>
+     *
+     * @param statementName 语句id,比如_save
+     * @param paramList     每行的参数
+     * @param requireRewrite 是否要求驱动支持批量重写,不支持时返回null
+     * @return List<Integer> 每批影响行数,没有SqlSessionFactory时返回null
+     **/
+    protected @Nullable List<Integer> executeBatch(String statementName, @NotNull List<?> paramList, boolean requireRewrite) {
+        SqlSessionFactory sqlSessionFactory = this.getSqlSessionFactory();
+        if (Objects.isNull(sqlSessionFactory)) {
+            return null;
+        }
+        String statement = StringUtil.concat(this.getMapperClazz().getName(), ".", statementName);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            Connection connection = this.getSqlSessionTemplate(sqlSessionFactory).getConnection();
+            if (requireRewrite && !this.supportBatchRewrite(connection)) {
+                return null;
+            }
+            Transaction transaction = new BorrowedTransaction(connection, sqlSessionFactory.getConfiguration().getEnvironment().getDataSource());
+            Executor executor = sqlSessionFactory.getConfiguration().newExecutor(transaction, ExecutorType.BATCH);
+            try (SqlSession sqlSession = new DefaultSqlSession(sqlSessionFactory.getConfiguration(), executor, false)) {
+                return this.executeBatch(sqlSession, statement, paramList);
+            } finally {
+//                事务中的SqlSession没有经过这次写入,清掉它的一级缓存,避免同一事务里再次查询读到旧数据
+                this.getSqlSessionTemplate(sqlSessionFactory).clearCache();
+            }
+        }
+        try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            if (requireRewrite && !this.supportBatchRewrite(sqlSession.getConnection())) {
+                return null;
+            }
+            List<Integer> counts = this.executeBatch(sqlSession, statement, paramList);
+            sqlSession.commit();
+            return counts;
+        }
+    }
+
+    private @NotNull List<Integer> executeBatch(@NotNull SqlSession sqlSession, String statement, @NotNull List<?> paramList) {
+        int batchSize = this.getBatchSize();
+        List<Integer> counts = new ArrayList<>(paramList.size() / batchSize + 1);
+        for (int i = 0; i < paramList.size(); i++) {
+            sqlSession.update(statement, paramList.get(i));
+            if ((i + 1) % batchSize == 0 || i == paramList.size() - 1) {
+                counts.add(this.countBatchResult(sqlSession.flushStatements()));
+            }
+        }
+        return counts;
+    }
+
+    private int countBatchResult(@NotNull List<BatchResult> batchResults) {
+        int count = 0;
+        for (BatchResult batchResult : batchResults) {
+            for (int updateCount : batchResult.getUpdateCounts()) {
+                count += updateCount == Statement.SUCCESS_NO_INFO ? 1 : Math.max(updateCount, 0);
+            }
+        }
+        return count;
+    }
+
+    private SqlSessionTemplate getSqlSessionTemplate(SqlSessionFactory sqlSessionFactory) {
+        SqlSessionTemplate template = this.sqlSessionTemplate;
+        if (Objects.isNull(template) || template.getSqlSessionFactory() != sqlSessionFactory) {
+            template = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.SIMPLE);
+            this.sqlSessionTemplate = template;
+        }
+        return template;
+    }
+
+    /**
+     * <p>驱动是否会把批量语句重写为多行,mysql/mariadb需要连接参数rewriteBatchedStatements=true,否则BATCH执行器仍是逐条发送</p>
+     * <p>其它数据库驱动原生支持批量;service只对应mapper所在的一个数据源,结果在service中缓存一次</p>
+     *
+     * @param connection 当前连接
+     * @return boolean
+     **/
+    public boolean supportBatchRewrite(@NotNull Connection connection) {
+        Boolean support = this.batchRewriteSupport;
+        if (Objects.isNull(support)) {
+            try {
+                String url = String.valueOf(connection.getMetaData().getURL());
+                support = !(url.startsWith("jdbc:mysql") || url.startsWith("jdbc:mariadb")) || url.contains("rewriteBatchedStatements=true");
+            } catch (SQLException e) {
+                log.warn("获取数据库连接信息失败: {}", e.getMessage());
+                support = false;
+            }
+            if (!support) {
+                log.warn("{} 配置了executor批量保存,但数据库连接未开启rewriteBatchedStatements=true,回退为foreach批量保存", this.getModelClazz().getName());
+            }
+            this.batchRewriteSupport = support;
+        }
+        return support;
+    }
+
+    /**
+     * <p>没有事务时单独打开的SqlSession,关闭Cursor时一起关闭</p>
+     **/
+    private record SessionCursor<R>(Cursor<R> cursor, SqlSession sqlSession) implements Cursor<R> {
+
+        @Override
+        public boolean isOpen() {
+            return this.cursor.isOpen();
+        }
+
+        @Override
+        public boolean isConsumed() {
+            return this.cursor.isConsumed();
+        }
+
+        @Override
+        public int getCurrentIndex() {
+            return this.cursor.getCurrentIndex();
+        }
+
+        @Override
+        public @NotNull Iterator<R> iterator() {
+            return this.cursor.iterator();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                this.cursor.close();
+            } finally {
+                this.sqlSession.close();
+            }
+        }
+
+    }
+
+    /**
+     * <p>借用事务中已有的连接,提交、回滚、关闭都交给事务管理器</p>
+     **/
+    private record BorrowedTransaction(Connection connection, DataSource dataSource) implements Transaction {
+
+        @Override
+        public Connection getConnection() {
+            return this.connection;
+        }
+
+        @Override
+        public void commit() {
+        }
+
+        @Override
+        public void rollback() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        /**
+         * <p>和SpringManagedTransaction一致,返回事务剩余的超时时间</p>
+         **/
+        @Override
+        public Integer getTimeout() {
+            if (TransactionSynchronizationManager.getResource(this.dataSource) instanceof ConnectionHolder connectionHolder && connectionHolder.hasTimeout()) {
+                return connectionHolder.getTimeToLiveInSeconds();
+            }
+            return null;
+        }
+
+    }
+
     /**
      * <p>删除</p>
      *
@@ -148,7 +547,9 @@ public abstract class AbstractBaseDataService<P, M extends BaseDataMapper<T>, T
     public int delete(@NotNull Map<String, Object> map) {
         map = this.deleteParamFilter(map);
         if (this.deleteValidate(map)) {
-            return this.getMapper()._delete(map);
+            int count = this.getMapper()._delete(map);
+            this.markDataChanged();
+            return count;
         }
         throw new IException(CommonErrorInfo.BODY_NOT_MATCH);
     }
@@ -173,7 +574,7 @@ public abstract class AbstractBaseDataService<P, M extends BaseDataMapper<T>, T
      **/
     @Transactional(rollbackFor = Exception.class)
     public int delete(@NotNull T model) {
-        return this.delete(model.toMap());
+        return this.delete(model.asMap());
     }
 
     /**
@@ -198,6 +599,117 @@ public abstract class AbstractBaseDataService<P, M extends BaseDataMapper<T>, T
         return this.delete(map);
     }
 
+    /**
+     * <p>按主键列表删除,按{@link #DELETE_ID_CHUNK_SIZES}分块执行in删除,重复主键只删除一次</p>
+     * <p>老版本生成的xml没有_deleteByIds时逐条删除</p>
+     *
+     * @param ids 主键列表
+     * @return int 影响行数
+     **/
+    @Transactional(rollbackFor = Exception.class)
+    public int deleteByIds(@NotNull Collection<P> ids) {
+        if (ids.stream().anyMatch(StringUtil::isEmpty)) {
+            log.error("根据主键字段删除时主键字段不能为空!");
+            throw new IException(CommonErrorInfo.BODY_NOT_MATCH);
+        }
+        List<P> idList = ids.stream().distinct().toList();
+        if (idList.isEmpty()) {
+            return 0;
+        }
+        if (!this.deleteByIdsValidate(idList)) {
+            throw new IException(CommonErrorInfo.BODY_NOT_MATCH);
+        }
+        if (!this.hasStatement(DELETE_BY_IDS_STATEMENT)) {
+            Field modelPrimaryField = this.getModelPrimaryField();
+            if (Objects.isNull(modelPrimaryField)) {
+                log.error("实体类需要指定主键字段");
+                throw new IException(CommonErrorInfo.SERVER_ERROR);
+            }
+            int count = 0;
+            for (P id : idList) {
+                Map<String, Object> map = new HashMap<>(1);
+                map.put(modelPrimaryField.getName(), id);
+                count += this.getMapper()._delete(map);
+            }
+            this.markDataChanged();
+            return count;
+        }
+        int maxChunkSize = DELETE_ID_CHUNK_SIZES[DELETE_ID_CHUNK_SIZES.length - 1];
+        int count = 0;
+        for (int i = 0; i < idList.size(); i += maxChunkSize) {
+            List<P> chunk = idList.subList(i, Math.min(i + maxChunkSize, idList.size()));
+            count += this.getMapper()._deleteByIds(this.padIdChunk(chunk));
+        }
+        this.markDataChanged();
+        return count;
+    }
+
+    private @NotNull List<P> padIdChunk(@NotNull List<P> chunk) {
+        int chunkSize = DELETE_ID_CHUNK_SIZES[DELETE_ID_CHUNK_SIZES.length - 1];
+        for (int size : DELETE_ID_CHUNK_SIZES) {
+            if (size >= chunk.size()) {
+                chunkSize = size;
+                break;
+            }
+        }
+        if (chunkSize == chunk.size()) {
+            return chunk;
+        }
+        List<P> padded = new ArrayList<>(chunkSize);
+        padded.addAll(chunk);
+        P last = chunk.get(chunk.size() - 1);
+        while (padded.size() < chunkSize) {
+            padded.add(last);
+        }
+        return padded;
+    }
+
+    /**
+     * <p>按主键列表删除验证</p>
+     *
+     * @param ids 去重后的主键列表
+     * @return boolean
+     **/
+    public boolean deleteByIdsValidate(@NotNull List<P> ids) {
+        log.info("按主键批量删除行数: {}", ids.size());
+        return true;
+    }
+
+    /**
+     * <p>按条件分批删除,每次最多删除chunkSize行,直到没有匹配数据,避免一次大删除长时间持有锁</p>
+     * <p>不开启事务,每批单独提交;在外部事务中调用时会加入外部事务,分批就失去了意义</p>
+     * <p>老版本生成的xml没有_deleteLimit时(或非mysql)回退为一次性删除</p>
+     *
+     * @param map       删除条件 {columnName : value}
+     * @param chunkSize 每批最多删除行数
+     * @return int 影响行数
+     **/
+    public int deleteInChunks(@NotNull Map<String, Object> map, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IException(CommonErrorInfo.BODY_NOT_MATCH);
+        }
+        map = this.deleteParamFilter(map);
+        if (!this.deleteValidate(map)) {
+            throw new IException(CommonErrorInfo.BODY_NOT_MATCH);
+        }
+        if (!this.hasStatement(DELETE_LIMIT_STATEMENT)) {
+            log.warn("没有{}语句,回退为一次性删除", DELETE_LIMIT_STATEMENT);
+            int count = this.getMapper()._delete(map);
+            this.markDataChanged();
+            return count;
+        }
+        Map<String, Object> param = new HashMap<>(map);
+        param.put("deleteLimit", chunkSize);
+        int count = 0;
+        int deleted;
+        do {
+            deleted = this.getMapper()._deleteLimit(param);
+            count += deleted;
+            this.markDataChanged();
+        } while (deleted >= chunkSize);
+        return count;
+    }
+
     public Map<String, Object> deleteParamFilter(@NotNull Map<String, Object> map) {
         if (map.isEmpty()) {
             log.error("删除操作参数不能为空!如场景需要,建议单独写一个方法(也可重写该验证方法,但不建议!)");
@@ -228,7 +740,9 @@ public abstract class AbstractBaseDataService<P, M extends BaseDataMapper<T>, T
     public int update(@NotNull Map<String, Object> map) {
         map = updateParamFilter(map);
         if (this.updateValidate(map)) {
-            return this.getMapper()._update(map);
+            int count = this.getMapper()._update(map);
+            this.markDataChanged();
+            return count;
         }
         throw new IException(CommonErrorInfo.BODY_NOT_MATCH);
     }
@@ -262,19 +776,106 @@ public abstract class AbstractBaseDataService<P, M extends BaseDataMapper<T>, T
             log.error("实体类需要指定主键字段");
             throw new IException(CommonErrorInfo.SERVER_ERROR);
         }
-        Object primaryValue = model.modelAnyValueByFieldName(modelPrimaryField.getName());
+        Object primaryValue = model.modelValue(model.modelFieldSlot(modelPrimaryField.getName()));
         if (StringUtil.isEmpty(primaryValue)) {
             log.error("使用实体类更新时主键字段不能为空!");
             throw new IException(CommonErrorInfo.BODY_NOT_MATCH);
         }
-        Map<String, Object> param = new HashMap<>();
-        Map<String, Object> temp = model.toMap();
-        temp.forEach((k, v) -> param.put(StringUtil.concat("new", StrUtil.upperFirst(k)), v));
-        param.put(modelPrimaryField.getName(), primaryValue);
+        Map<String, Object> param = this.modelToUpdateParam(model, modelPrimaryField.getName(), primaryValue);
         log.warn("实体类更新.防止更新参数和条件参数冲突,参数强制修改为: {}", param);
         return this.update(param);
     }
 
+    private @NotNull Map<String, Object> modelToUpdateParam(@NotNull T model, String primaryName, Object primaryValue) {
+        ModelAccessor<BaseModel> accessor = model.modelAccessor();
+        int size = accessor.size();
+        Map<String, Object> param = new HashMap<>((int) ((size + 1) / 0.75f) + 1);
+        for (int slot = 0; slot < size; slot++) {
+            param.put(StringUtil.concat("new", StrUtil.upperFirst(accessor.fieldName(slot))), accessor.get(model, slot));
+        }
+        param.put(primaryName, primaryValue);
+        return param;
+    }
+
+    /**
+     * <p>按实体类批量更新,和{@link #update(BaseModel)}一样只以主键作为更新条件,null值不更新</p>
+     *
+     * @param modelList 实体类列表,主键不能为空
+     * @return List<Integer> 每批影响行数,批大小为{@link #getBatchSize()}
+     **/
+    @Transactional(rollbackFor = Exception.class)
+    public @NotNull List<Integer> batchUpdate(@NotNull List<T> modelList) {
+        Field modelPrimaryField = this.getModelPrimaryField();
+        if (Objects.isNull(modelPrimaryField)) {
+            log.error("实体类需要指定主键字段");
+            throw new IException(CommonErrorInfo.SERVER_ERROR);
+        }
+        String primaryName = modelPrimaryField.getName();
+        List<Map<String, Object>> paramList = new ArrayList<>(modelList.size());
+        for (T model : modelList) {
+            Object primaryValue = model.modelValue(model.modelFieldSlot(primaryName));
+            if (StringUtil.isEmpty(primaryValue)) {
+                log.error("使用实体类批量更新时主键字段不能为空!");
+                throw new IException(CommonErrorInfo.BODY_NOT_MATCH);
+            }
+            paramList.add(this.modelToUpdateParam(model, primaryName, primaryValue));
+        }
+        return this.batchUpdateMap(paramList);
+    }
+
+    /**
+     * <p>批量更新,每行参数规则和{@link #update(Map)}一致,new{列名}为新值,其余为条件</p>
+     * <p>BATCH执行器复用_update语句,每{@link #getBatchSize()}行flush一次;没有SqlSessionFactory时逐条执行</p>
+     *
+     * @param mapList 每行的更新参数
+     * @return List<Integer> 每批影响行数
+     **/
+    @Transactional(rollbackFor = Exception.class)
+    public @NotNull List<Integer> batchUpdateMap(@NotNull List<Map<String, Object>> mapList) {
+        if (mapList.isEmpty()) {
+            return List.of();
+        }
+        List<Map<String, Object>> paramList = mapList.stream().map(this::updateParamFilter).toList();
+        if (!this.batchUpdateValidate(paramList) || !paramList.stream().allMatch(this::updateValidate)) {
+            throw new IException(CommonErrorInfo.BODY_NOT_MATCH);
+        }
+        List<Integer> counts = this.executeBatch(UPDATE_STATEMENT, paramList, false);
+        if (Objects.nonNull(counts)) {
+            this.markDataChanged();
+            return counts;
+        }
+        int batchSize = this.getBatchSize();
+        counts = new ArrayList<>(paramList.size() / batchSize + 1);
+        for (int i = 0; i < paramList.size(); i += batchSize) {
+            int count = 0;
+            for (Map<String, Object> param : paramList.subList(i, Math.min(i + batchSize, paramList.size()))) {
+                count += this.getMapper()._update(param);
+            }
+            counts.add(count);
+        }
+        this.markDataChanged();
+        return counts;
+    }
+
+    /**
+     * <p>批量更新验证,每行都必须有一个实体类字段的非null条件(一般是主键),防止条件全为null时生成没有where的整表更新</p>
+     * <p>通过后每行还会经过{@link #updateValidate(Map)}</p>
+     *
+     * @param mapList 每行的更新参数
+     * @return boolean
+     **/
+    public boolean batchUpdateValidate(@NotNull List<Map<String, Object>> mapList) {
+        log.info("批量更新操作行数: {}", mapList.size());
+        Set<String> baseFieldNames = this.getModelMapBaseFields().keySet();
+        for (Map<String, Object> map : mapList) {
+            if (baseFieldNames.stream().noneMatch(key -> Objects.nonNull(map.get(key)))) {
+                log.error("批量更新每行都需要实体类字段的非null条件参数: {}", map);
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Transactional(rollbackFor = Exception.class)
     public int update(@NotNull Object... keyValuesArray) {
         Map<String, Object> map = new HashMap<>();
@@ -358,7 +959,7 @@ public abstract class AbstractBaseDataService<P, M extends BaseDataMapper<T>, T
      * @return T extends BaseModel
      **/
     public @Nullable T select(@NotNull T model) {
-        return this.select(model.toMap());
+        return this.select(model.asMap());
     }
 
     /**
@@ -431,7 +1032,7 @@ public abstract class AbstractBaseDataService<P, M extends BaseDataMapper<T>, T
      * @return List<T> T extends BaseModel
      **/
     public @NotNull List<Map<String, Object>> getList(@NotNull T model) {
-        return this.getList(model.toMap());
+        return this.getList(model.asMap());
     }
 
     /**
@@ -477,7 +1078,7 @@ public abstract class AbstractBaseDataService<P, M extends BaseDataMapper<T>, T
     }
 
     public @NotNull List<T> getNestList(@NotNull T model) {
-        return this.getNestList(model.toMap());
+        return this.getNestList(model.asMap());
     }
 
     public @NotNull List<T> getNestList(String column, Object value) {
@@ -500,7 +1101,12 @@ public abstract class AbstractBaseDataService<P, M extends BaseDataMapper<T>, T
         return List.of();
     }
 
+    /**
+     * <p>seek参数只能由{@link #cursorParamFilter(Map)}生成,先移除请求中传入的同名参数;sliceMode同样不接受请求传入</p>
+     **/
     public Map<String, Object> listParamFilter(@NotNull Map<String, Object> map) {
+        SEEK_PARAMS.forEach(map::remove);
+        map.remove(SLICE_MODE_PARAM);
         int pageIndex;
         try {
             pageIndex = Integer.parseInt(String.valueOf(map.get("pageIndex")));
@@ -524,72 +1130,637 @@ public abstract class AbstractBaseDataService<P, M extends BaseDataMapper<T>, T
         }
         map.put("pageIndex", (pageIndex - 1) * pageSize);
         map.put("pageSize", pageSize);
+        if (this.isCursorMode(map)) {
+            map.put("pageIndex", 0);
+            this.cursorParamFilter(map);
+        }
         return map;
     }
 
-    public boolean listValidate(@NotNull Map<String, Object> map) {
-        log.info("查询列表操作参数: {}", JSON.toJSONString(map));
-        return true;
-    }
-
-    @Override
-    public int getTotal(@NotNull Map<String, Object> map) {
-        return this.getMapper()._getTotal(map);
+    /**
+     * <p>是否不统计条数,多查一行判断是否有下一页</p>
+     *
+     * @param map 查询参数
+     * @return boolean
+     **/
+    public boolean isSkipTotal(@NotNull Map<String, Object> map) {
+        return Boolean.parseBoolean(String.valueOf(map.get(SKIP_TOTAL_PARAM)));
     }
 
-    public int getTotal(@NotNull Object... keyValuesArray) {
-        Map<String, Object> map = new HashMap<>();
-        int length = keyValuesArray.length;
-        for (int i = 0; i < keyValuesArray.length; i++) {
-            if (i % 2 == 0 && length >= i + 1) {
-                map.put(String.valueOf(keyValuesArray[i]), keyValuesArray[i + 1]);
-            }
-        }
-        return this.getTotal(map);
+    /**
+     * <p>查询一页列表,不统计条数,多查一行用来判断hasMore</p>
+     *
+     * @param map {columnName : value}
+     * @return Page<Map<String, Object>> total为-1
+     **/
+    public @NotNull Page<Map<String, Object>> getListSlice(@NotNull Map<String, Object> map) {
+        map = this.sliceParamFilter(map);
+        return this.slice(this.getMapper()._getList(map), map);
     }
 
-    public int getTotal() {
-        return this.getTotal(Map.of());
+    /**
+     * <p>查询一页嵌套列表,不统计条数,多查一行用来判断hasMore</p>
+     *
+     * @param map {columnName : value}
+     * @return Page<T> total为-1
+     **/
+    public @NotNull Page<T> getNestListSlice(@NotNull Map<String, Object> map) {
+        map = this.sliceParamFilter(map);
+        return this.slice(this.getMapper()._getNestList(map), map);
     }
 
-    @Transactional
-    public void importExcel(@NotNull MultipartFile multipartFile, @NotNull Integer headerRowNumber) {
-        try (InputStream inputStream = multipartFile.getInputStream()) {
-            ModelDataListener modelDataListener = new ModelDataListener();
-            EasyExcel.read(inputStream, modelDataListener).headRowNumber(headerRowNumber).doReadAllSync();
-            List<T> modelData = modelDataListener.mapToModelData(this.getModelClazz());
-            for (int i = 0; i < modelData.size(); i += 25) {
-                int end = Math.min(i + 25, modelData.size());
-                this.batchSave(modelData.subList(i, end));
-            }
-        } catch (IOException e) {
-            log.error("读取表格数据异常: ", e);
-            throw new IException("导入表格数据失败");
+    /**
+     * <p>列表参数处理、校验后多查一行,{@link #slice(List, Map)}再还原pageSize</p>
+     **/
+    private @NotNull Map<String, Object> sliceParamFilter(@NotNull Map<String, Object> map) {
+        map = this.listParamFilter(map);
+        if (!this.listValidate(map)) {
+            throw new IException(CommonErrorInfo.BODY_NOT_MATCH);
         }
+        map.put("pageSize", Integer.parseInt(String.valueOf(map.get("pageSize"))) + 1);
+        return map;
     }
 
-    public void exportExcel(String fileName, List<Map<String, Object>> data, HttpServletResponse response) {
-        if (StringUtil.isEmpty(fileName)) {
-            throw new IException("请指定文件名");
-        }
-        try {
-            fileName = URLEncoder.encode(fileName, StandardCharsets.UTF_8);
-            if (StringUtil.isEmpty(fileName)) {
-                fileName = this.getModelClazz().getAnnotation(Data.class).title();
+    /**
+     * <p>查询一页列表和条数</p>
+     * <p>有_getPage语句(实体类开启windowTotal)时一次查询,条数取自count(*) over()的_total列;否则分别查询列表和条数</p>
+     * <p>本页没有数据(页码越界)或游标分页翻到后面的页时,窗口条数不是总数,会单独查询条数</p>
+     *
+     * @param map {columnName : value}
+     * @return Page<Map<String, Object>>
+     **/
+    public @NotNull Page<Map<String, Object>> getPage(@NotNull Map<String, Object> map) {
+        if (!this.hasStatement(GET_PAGE_STATEMENT)) {
+            List<Map<String, Object>> list = this.getList(map);
+            Page<Map<String, Object>> page = new Page<>(list, this.getTotal(map));
+            page.setNextCursor(this.nextCursor(list, map));
+            return page;
+        }
+        map = this.listParamFilter(map);
+        if (!this.listValidate(map)) {
+            throw new IException(CommonErrorInfo.BODY_NOT_MATCH);
+        }
+        List<Map<String, Object>> list = this.getMapper()._getPage(map);
+        boolean seek = map.containsKey("seekId");
+        int total;
+        if (!list.isEmpty() && !seek) {
+            total = ((Number) list.getFirst().get(WINDOW_TOTAL_COLUMN)).intValue();
+        } else if (list.isEmpty() && !seek && Objects.equals(map.get("pageIndex"), 0)) {
+            total = 0;
+        } else {
+            total = this.getTotal(map);
+        }
+        list.forEach(row -> row.remove(WINDOW_TOTAL_COLUMN));
+        Page<Map<String, Object>> page = new Page<>(list, total);
+        page.setNextCursor(this.nextCursor(list, map));
+        return page;
+    }
+
+    /**
+     * <p>列表和条数是否并行查询,{@link Data#concurrentTotal()}开启且当前没有事务</p>
+     * <p>事务中另一个线程拿不到事务连接,看不到未提交的数据,所以顺序查询</p>
+     *
+     * @return boolean
+     **/
+    public boolean isConcurrentTotal() {
+        Data data = this.getModelClazz().getAnnotation(Data.class);
+        return Objects.nonNull(data) && data.concurrentTotal() && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    /**
+     * <p>查询一页列表和条数,{@link #isConcurrentTotal()}时条数在虚拟线程上和列表同时查询</p>
+     *
+     * @param map {columnName : value}
+     * @return Page<Map<String, Object>>
+     **/
+    public @NotNull Page<Map<String, Object>> getListPage(@NotNull Map<String, Object> map) {
+        return this.listPage(map, this.getMapper()::_getList);
+    }
+
+    /**
+     * <p>查询一页嵌套列表和条数,{@link #isConcurrentTotal()}时条数在虚拟线程上和列表同时查询</p>
+     *
+     * @param map {columnName : value}
+     * @return Page<T>
+     **/
+    public @NotNull Page<T> getNestListPage(@NotNull Map<String, Object> map) {
+        return this.listPage(map, this.getMapper()::_getNestList);
+    }
+
+    private <R> @NotNull Page<R> listPage(@NotNull Map<String, Object> map, @NotNull Function<Map<String, Object>, List<R>> listQuery) {
+        Map<String, Object> listMap = this.listParamFilter(map);
+        if (!this.listValidate(listMap)) {
+            throw new IException(CommonErrorInfo.BODY_NOT_MATCH);
+        }
+        Map<String, Object> totalMap = new HashMap<>(listMap);
+        List<R> list;
+        int total;
+        if (this.isConcurrentTotal()) {
+            Future<Integer> totalFuture = QUERY_EXECUTOR.submit(() -> this.getTotal(totalMap));
+            try {
+                list = listQuery.apply(listMap);
+            } catch (RuntimeException e) {
+                totalFuture.cancel(true);
+                throw e;
             }
-            if (!fileName.endsWith(".xlsx") && !fileName.endsWith(".xls")) {
-                fileName += ".xlsx";
+            total = this.await(totalFuture);
+        } else {
+            list = listQuery.apply(listMap);
+            total = this.getTotal(totalMap);
+        }
+        Page<R> page = new Page<>(list, total);
+        page.setNextCursor(this.nextCursor(list, listMap));
+        return page;
+    }
+
+    private <R> R await(@NotNull Future<R> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("查询被中断", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
             }
-            List<Field> modelBaseFields = this.getModelBaseFields();
-            List<String> dataKeyList = modelBaseFields.stream().map(Field::getName).toList();
-            List<String> dataTitleList = modelBaseFields.stream().map(item -> {
-                String title = item.getAnnotation(Column.class).title();
-                if (StringUtil.isEmpty(title)) {
-                    return item.getName();
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+
+    /**
+     * <p>流式查询列表,不分页,按fetchSize从数据库逐批读取</p>
+     * <p>有事务时用事务中的SqlSession,事务结束时自动关闭;没有事务时单独打开一个SqlSession,调用方需要关闭Cursor</p>
+     * <p>mysql默认逐行流式读取(fetchSize为Integer.MIN_VALUE),读完或关闭Cursor前同一连接不能执行其他语句;事务中遍历时不要在同一事务里查询或更新,否则报Streaming result set is still active</p>
+     *
+     * @param map {columnName : value}
+     * @return Cursor<Map<String, Object>>
+     **/
+    public @NotNull Cursor<Map<String, Object>> getListCursor(@NotNull Map<String, Object> map) {
+        return this.openCursor(GET_LIST_CURSOR_STATEMENT, map);
+    }
+
+    /**
+     * <p>流式查询嵌套列表,不分页,按fetchSize从数据库逐批读取</p>
+     * <p>有事务时用事务中的SqlSession,事务结束时自动关闭;没有事务时单独打开一个SqlSession,调用方需要关闭Cursor</p>
+     * <p>mysql默认逐行流式读取(fetchSize为Integer.MIN_VALUE),读完或关闭Cursor前同一连接不能执行其他语句;事务中遍历时不要在同一事务里查询或更新,否则报Streaming result set is still active</p>
+     *
+     * @param map {columnName : value}
+     * @return Cursor<T>
+     **/
+    public @NotNull Cursor<T> getNestListCursor(@NotNull Map<String, Object> map) {
+        return this.openCursor(GET_NEST_LIST_CURSOR_STATEMENT, map);
+    }
+
+    /**
+     * <p>流式查询列表,Stream关闭时关闭Cursor,建议用try-with-resources</p>
+     * <p>事务中使用的限制同{@link #getListCursor(Map)}</p>
+     *
+     * @param map {columnName : value}
+     * @return Stream<Map<String, Object>>
+     **/
+    public @NotNull Stream<Map<String, Object>> streamList(@NotNull Map<String, Object> map) {
+        return this.stream(this.getListCursor(map));
+    }
+
+    /**
+     * <p>流式查询嵌套列表,Stream关闭时关闭Cursor,建议用try-with-resources</p>
+     * <p>事务中使用的限制同{@link #getNestListCursor(Map)}</p>
+     *
+     * @param map {columnName : value}
+     * @return Stream<T>
+     **/
+    public @NotNull Stream<T> streamNestList(@NotNull Map<String, Object> map) {
+        return this.stream(this.getNestListCursor(map));
+    }
+
+    private <R> @NotNull Cursor<R> openCursor(String statementName, @NotNull Map<String, Object> map) {
+        map = this.listParamFilter(map);
+        if (!this.listValidate(map)) {
+            throw new IException(CommonErrorInfo.BODY_NOT_MATCH);
+        }
+        return this.openFilteredCursor(statementName, map);
+    }
+
+    /**
+     * <p>打开Cursor,map已经经过{@link #listParamFilter(Map)}和{@link #listValidate(Map)},不再处理</p>
+     **/
+    private <R> @NotNull Cursor<R> openFilteredCursor(String statementName, @NotNull Map<String, Object> map) {
+        SqlSessionFactory sqlSessionFactory = this.getSqlSessionFactory();
+        if (Objects.isNull(sqlSessionFactory)) {
+            log.error("{} 没有可用的SqlSessionFactory,不能流式查询", this.getModelClazz().getName());
+            throw new IException(CommonErrorInfo.SERVER_ERROR);
+        }
+        if (!this.hasStatement(statementName)) {
+            log.error("{} 的mapper xml中没有{}语句,需要重新生成xml", this.getModelClazz().getName(), statementName);
+            throw new IException(CommonErrorInfo.SERVER_ERROR);
+        }
+        String statement = StringUtil.concat(this.getMapperClazz().getName(), ".", statementName);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return this.getSqlSessionTemplate(sqlSessionFactory).selectCursor(statement, map);
+        }
+        SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.SIMPLE, false);
+        try {
+            return new SessionCursor<>(sqlSession.selectCursor(statement, map), sqlSession);
+        } catch (RuntimeException e) {
+            sqlSession.close();
+            throw e;
+        }
+    }
+
+    private <R> @NotNull Stream<R> stream(@NotNull Cursor<R> cursor) {
+        return StreamSupport.stream(cursor.spliterator(), false).onClose(() -> {
+            try {
+                cursor.close();
+            } catch (IOException e) {
+                log.warn("关闭Cursor失败: {}", e.getMessage());
+            }
+        });
+    }
+
+    private <R> @NotNull Page<R> slice(@NotNull List<R> rows, @NotNull Map<String, Object> map) {
+        int pageSize = Integer.parseInt(String.valueOf(map.get("pageSize"))) - 1;
+        map.put("pageSize", pageSize);
+        Page<R> page = new Page<>();
+        page.setHasMore(rows.size() > pageSize);
+        page.setList(page.getHasMore() ? rows.subList(0, pageSize) : rows);
+        page.setNextCursor(page.getHasMore() ? this.nextCursor(page.getList(), map) : null);
+        return page;
+    }
+
+    /**
+     * <p>是否游标分页,传了after游标或cursor=true</p>
+     *
+     * @param map 查询参数
+     * @return boolean
+     **/
+    public boolean isCursorMode(@NotNull Map<String, Object> map) {
+        return map.containsKey(CURSOR_AFTER_PARAM) || Boolean.parseBoolean(String.valueOf(map.get(CURSOR_MODE_PARAM)));
+    }
+
+    /**
+     * <p>游标分页参数,按orderColumn(只能是实体类基本字段)加主键排序,没有orderColumn时只按主键</p>
+     * <p>after游标由{@link #nextCursor(List, Map)}生成,解析后作为seek条件,不再使用offset</p>
+     *
+     * @param map 查询参数
+     **/
+    public void cursorParamFilter(@NotNull Map<String, Object> map) {
+        Field modelPrimaryField = this.getModelPrimaryField();
+        if (Objects.isNull(modelPrimaryField)) {
+            log.error("实体类需要指定主键字段");
+            throw new IException(CommonErrorInfo.SERVER_ERROR);
+        }
+        String seekColumn = null;
+        Object orderColumn = map.get("orderColumn");
+        if (StringUtil.isNotEmpty(orderColumn) && !StrUtil.equals(String.valueOf(orderColumn), modelPrimaryField.getName())) {
+            if (!this.getModelMapBaseFields().containsKey(String.valueOf(orderColumn))) {
+                log.error("游标分页的排序字段不存在: {}", orderColumn);
+                throw new IException(CommonErrorInfo.BODY_NOT_MATCH);
+            }
+            seekColumn = String.valueOf(orderColumn);
+        }
+        boolean desc = StrUtil.equalsIgnoreCase(String.valueOf(map.get("order")), "desc");
+        map.put("seekMode", true);
+        map.put("seekDesc", desc);
+        if (seekColumn != null) {
+            map.put("seekColumn", seekColumn);
+        }
+        Object after = map.get(CURSOR_AFTER_PARAM);
+        if (StringUtil.isEmpty(after)) {
+            return;
+        }
+        List<Object> cursor;
+        try {
+            cursor = JSON.parseArray(new String(Base64.getUrlDecoder().decode(String.valueOf(after)), StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            log.error("不规范的after游标: {}", after);
+            throw new IException(CommonErrorInfo.BODY_NOT_MATCH);
+        }
+        if (cursor.size() != 3 || !Objects.equals(cursor.getFirst(), seekColumn) || Objects.isNull(cursor.getLast())) {
+            log.error("after游标和排序字段不匹配: {}", after);
+            throw new IException(CommonErrorInfo.BODY_NOT_MATCH);
+        }
+        FieldConverter[] converters = CacheTool.getModelConverters(this.getModelClazz());
+        ModelAccessor<? extends BaseModel> accessor = CacheTool.getModelAccessor(this.getModelClazz());
+        if (seekColumn != null && Objects.nonNull(cursor.get(1))) {
+            map.put("seekValue", converters[accessor.slot(seekColumn)].convert(cursor.get(1)));
+        }
+        map.put("seekId", converters[accessor.slot(modelPrimaryField.getName())].convert(cursor.getLast()));
+    }
+
+    /**
+     * <p>根据本页最后一行生成下一页的after游标,不是游标分页或已经没有下一页时返回null</p>
+     *
+     * @param rows   本页数据,{@link #getList(Map)}或{@link #getNestList(Map)}的结果
+     * @param params 经过{@link #listParamFilter(Map)}处理的查询参数
+     * @return String base64url编码的[排序字段, 排序值, 主键]
+     **/
+    public @Nullable String nextCursor(@NotNull List<?> rows, @NotNull Map<String, Object> params) {
+        if (!params.containsKey("seekMode") || rows.isEmpty() || rows.size() < Integer.parseInt(String.valueOf(params.get("pageSize")))) {
+            return null;
+        }
+        Field modelPrimaryField = this.getModelPrimaryField();
+        String seekColumn = (String) params.get("seekColumn");
+        Object last = rows.getLast();
+        Object seekValue = null;
+        Object seekId;
+        if (last instanceof BaseModel model) {
+            seekValue = seekColumn == null ? null : model.modelAnyValueByFieldName(seekColumn);
+            seekId = model.modelAnyValueByFieldName(modelPrimaryField.getName());
+        } else if (last instanceof Map<?, ?> row) {
+            seekValue = seekColumn == null ? null : row.get(seekColumn);
+            seekId = row.get(modelPrimaryField.getName());
+        } else {
+            return null;
+        }
+        List<Object> cursor = new ArrayList<>(3);
+        cursor.add(seekColumn);
+        cursor.add(seekValue instanceof Date date ? date.getTime() : seekValue);
+        cursor.add(seekId);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(JSON.toJSONString(cursor, JSONWriter.Feature.WriteNulls).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean listValidate(@NotNull Map<String, Object> map) {
+        log.info("查询列表操作参数: {}", JSON.toJSONString(map));
+        return true;
+    }
+
+    /**
+     * <p>数据条数</p>
+     * <p>{@link Data#approximateTotal()}开启且没有查询条件时读取表统计信息;{@link Data#cacheTotal()}开启时按查询条件缓存</p>
+     *
+     * @param map 查询参数,分页、排序参数不影响条数
+     * @return int
+     **/
+    @Override
+    public int getTotal(@NotNull Map<String, Object> map) {
+        Data data = this.getModelClazz().getAnnotation(Data.class);
+        if (Objects.isNull(data) || !(data.cacheTotal() || data.approximateTotal())) {
+            return this.getMapper()._getTotal(map);
+        }
+        Map<String, Object> filter = this.totalFilter(map);
+        if (data.approximateTotal() && filter.isEmpty() && this.hasStatement(APPROXIMATE_TOTAL_STATEMENT)) {
+            Integer total = this.getMapper()._getApproximateTotal();
+            if (Objects.nonNull(total)) {
+                return total;
+            }
+        }
+        if (!data.cacheTotal()) {
+            return this.getMapper()._getTotal(map);
+        }
+        TotalCache totalCache = CacheTool.getModelTotalCache(this.getModelClazz());
+        long version = CacheTool.getModelDataVersion(this.getModelClazz());
+        String key = JSON.toJSONString(filter);
+        Integer total = totalCache.get(key, version);
+        if (Objects.nonNull(total)) {
+            return total;
+        }
+        long start = System.nanoTime();
+        total = this.getMapper()._getTotal(map);
+        totalCache.put(key, total, version, TimeUnit.SECONDS.toMillis(data.totalCacheSeconds()), System.nanoTime() - start);
+        return total;
+    }
+
+    /**
+     * <p>去掉分页、排序、游标参数,按key排序,作为条数缓存的key</p>
+     *
+     * @param map 查询参数
+     * @return Map<String, Object>
+     **/
+    public @NotNull Map<String, Object> totalFilter(@NotNull Map<String, Object> map) {
+        Map<String, Object> filter = new TreeMap<>();
+        map.forEach((key, value) -> {
+            if (Objects.nonNull(key) && Objects.nonNull(value) && !LIST_CONTROL_PARAMS.contains(key)) {
+                filter.put(key, value);
+            }
+        });
+        return filter;
+    }
+
+    /**
+     * <p>本实体类数据有变化,让条数缓存等失效</p>
+     * <p>事务中会在事务结束后再标记一次,防止提交前其它线程按旧数据重新缓存</p>
+     **/
+    protected void markDataChanged() {
+        Class<T> modelClazz = this.getModelClazz();
+        CacheTool.markModelDataChanged(modelClazz);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String resourceKey = StringUtil.concat(DATA_CHANGED_RESOURCE, modelClazz.getName());
+        if (TransactionSynchronizationManager.hasResource(resourceKey)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(resourceKey, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+                CacheTool.markModelDataChanged(modelClazz);
+            }
+        });
+    }
+
+    public int getTotal(@NotNull Object... keyValuesArray) {
+        Map<String, Object> map = new HashMap<>();
+        int length = keyValuesArray.length;
+        for (int i = 0; i < keyValuesArray.length; i++) {
+            if (i % 2 == 0 && length >= i + 1) {
+                map.put(String.valueOf(keyValuesArray[i]), keyValuesArray[i + 1]);
+            }
+        }
+        return this.getTotal(map);
+    }
+
+    public int getTotal() {
+        return this.getTotal(Map.of());
+    }
+
+    /**
+     * <p>流式导入excel,每{@link #getImportBatchSize()}行转换、校验、批量保存,每批单独提交事务,内存中只保留一批数据</p>
+     * <p>中途失败时之前的批次已经提交,异常信息中带已导入的行数;调用方已在事务中时各批加入该事务</p>
+     *
+     * @param multipartFile   文件
+     * @param headerRowNumber 表头行数
+     * @return ImportProgress 导入结果
+     **/
+    public @NotNull ImportProgress importExcel(@NotNull MultipartFile multipartFile, @NotNull Integer headerRowNumber) {
+        ImportProgress progress = new ImportProgress(multipartFile.getOriginalFilename());
+        try {
+            this.readExcel(multipartFile, headerRowNumber, null, progress);
+        } catch (RuntimeException e) {
+            log.error("导入表格数据异常, 导入进度: {}", progress, e);
+            throw new IException(StrUtil.format("导入表格数据失败,已导入{}条", progress.getSavedRows()), e);
+        }
+        progress.setSuccess(true);
+        progress.setCostMillis(System.currentTimeMillis() - progress.getStartTime());
+        log.info("导入完成: {}", progress);
+        return progress;
+    }
+
+    /**
+     * <p>并行导入多个文件,每个文件(parallelSheets时每个sheet)在线程池中单独读取,并在自己的事务中保存,失败时只回滚该文件(sheet)</p>
+     * <p>每个任务有自己的ModelImportListener和ImportProgress,任务之间不共享读取状态</p>
+     * <p>任务在{@link ImportTaskExecutor}共用的线程池中执行,并带上当前请求的RequestAttributes,参数过滤和校验中可以取到请求和会话</p>
+     *
+     * @param multipartFiles  文件
+     * @param headerRowNumber 表头行数
+     * @param parallelism     最多同时导入的任务数
+     * @param parallelSheets  是否把一个文件的多个sheet拆成多个任务
+     * @return ImportResult 每个文件(sheet)的行数、耗时和是否成功
+     **/
+    public @NotNull ImportResult importExcel(@NotNull List<MultipartFile> multipartFiles, @NotNull Integer headerRowNumber, int parallelism, boolean parallelSheets) {
+        long startTime = System.currentTimeMillis();
+        List<ImportProgress> progressList = new ArrayList<>();
+        List<Callable<ImportProgress>> tasks = new ArrayList<>();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        for (MultipartFile multipartFile : multipartFiles) {
+            List<ReadSheet> sheets = parallelSheets ? this.readSheets(multipartFile) : Collections.singletonList(null);
+            for (ReadSheet sheet : sheets) {
+                ImportProgress progress = new ImportProgress(multipartFile.getOriginalFilename());
+                if (Objects.nonNull(sheet)) {
+                    progress.setSheetNo(sheet.getSheetNo());
+                    progress.setSheetName(sheet.getSheetName());
                 }
-                return title;
-            }).toList();
-            ExcelUtil.writeOneSheetExcel(data, dataKeyList, dataTitleList, null, null, fileName, response);
+                progressList.add(progress);
+                tasks.add(() -> {
+                    RequestContextHolder.setRequestAttributes(requestAttributes);
+                    try {
+                        return this.importExcelTask(multipartFile, headerRowNumber, sheet, progress);
+                    } finally {
+                        RequestContextHolder.resetRequestAttributes();
+                    }
+                });
+            }
+        }
+        try {
+            for (Future<ImportProgress> future : ImportTaskExecutor.invokeAll(tasks, parallelism)) {
+                this.await(future);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IException("导入表格数据被中断", e);
+        }
+        ImportResult importResult = new ImportResult(progressList, System.currentTimeMillis() - startTime);
+        log.info("导入完成: {}", importResult);
+        return importResult;
+    }
+
+    private @NotNull ImportProgress importExcelTask(@NotNull MultipartFile multipartFile, @NotNull Integer headerRowNumber, @Nullable ReadSheet sheet, @NotNull ImportProgress progress) {
+        progress.setStartTime(System.currentTimeMillis());
+        try {
+            this.executeInTransaction(() -> {
+                this.readExcel(multipartFile, headerRowNumber, sheet, progress);
+                return null;
+            });
+            progress.setSuccess(true);
+        } catch (RuntimeException e) {
+            log.error("导入表格数据异常, 已回滚, 导入进度: {}", progress, e);
+            progress.setSavedRows(0);
+            progress.setMessage(e.getMessage());
+        }
+        progress.setCostMillis(System.currentTimeMillis() - progress.getStartTime());
+        return progress;
+    }
+
+    /**
+     * <p>读取excel,sheet为null时读取全部sheet</p>
+     **/
+    private void readExcel(@NotNull MultipartFile multipartFile, @NotNull Integer headerRowNumber, @Nullable ReadSheet sheet, @NotNull ImportProgress progress) {
+        try (InputStream inputStream = multipartFile.getInputStream()) {
+            ModelImportListener<T> modelImportListener = new ModelImportListener<>(this.getModelClazz(), this.getImportBatchSize(), modelData -> this.importBatch(modelData, progress));
+            if (Objects.isNull(sheet)) {
+                EasyExcel.read(inputStream, modelImportListener).headRowNumber(headerRowNumber).doReadAll();
+            } else {
+                EasyExcel.read(inputStream, modelImportListener).headRowNumber(headerRowNumber).sheet(sheet.getSheetNo()).doRead();
+            }
+        } catch (IOException e) {
+            log.error("读取表格数据异常: ", e);
+            throw new IException("导入表格数据失败");
+        }
+    }
+
+    private @NotNull List<ReadSheet> readSheets(@NotNull MultipartFile multipartFile) {
+        try (InputStream inputStream = multipartFile.getInputStream(); ExcelReader excelReader = EasyExcel.read(inputStream).build()) {
+            return excelReader.excelExecutor().sheetList();
+        } catch (IOException e) {
+            log.error("读取表格数据异常: ", e);
+            throw new IException("导入表格数据失败");
+        }
+    }
+
+    /**
+     * <p>导入多个文件时最多同时导入的任务数,{@link Data#importParallelism()}</p>
+     *
+     * @return int 1为依次导入
+     **/
+    public int getImportParallelism() {
+        Data data = this.getModelClazz().getAnnotation(Data.class);
+        return Objects.isNull(data) ? 1 : Math.max(data.importParallelism(), 1);
+    }
+
+    private void importBatch(@NotNull List<T> modelData, @NotNull ImportProgress progress) {
+        progress.setReadRows(progress.getReadRows() + modelData.size());
+        int count = this.executeInTransaction(() -> this.batchSave(modelData));
+        progress.setSavedRows(progress.getSavedRows() + count);
+        progress.setBatches(progress.getBatches() + 1);
+        log.info("导入进度: {}", progress);
+    }
+
+    /**
+     * <p>导入excel时每批的行数,{@link Data#importBatchSize()}</p>
+     *
+     * @return int
+     **/
+    public int getImportBatchSize() {
+        Data data = this.getModelClazz().getAnnotation(Data.class);
+        return Objects.isNull(data) || data.importBatchSize() <= 0 ? 500 : data.importBatchSize();
+    }
+
+    /**
+     * <p>在独立事务中执行(已有事务时加入),找不到事务管理器时抛出异常,不会在没有事务的情况下执行</p>
+     **/
+    private <R> R executeInTransaction(@NotNull Supplier<R> supplier) {
+        return new TransactionTemplate(this.getTransactionManager()).execute(status -> supplier.get());
+    }
+
+    /**
+     * <p>mapper所在数据源的事务管理器,多个事务管理器时按{@link ResourceTransactionManager#getResourceFactory()}匹配数据源,找到后缓存</p>
+     * <p>也可以重写直接指定</p>
+     *
+     * @return PlatformTransactionManager
+     **/
+    public @NotNull PlatformTransactionManager getTransactionManager() {
+        PlatformTransactionManager transactionManager = this.transactionManager;
+        if (Objects.nonNull(transactionManager)) {
+            return transactionManager;
+        }
+        SqlSessionFactory sqlSessionFactory = this.getSqlSessionFactory();
+        if (Objects.nonNull(this.transactionManagerProvider) && Objects.nonNull(sqlSessionFactory)) {
+            DataSource dataSource = sqlSessionFactory.getConfiguration().getEnvironment().getDataSource();
+            List<PlatformTransactionManager> transactionManagers = this.transactionManagerProvider.orderedStream().toList();
+            transactionManager = transactionManagers.stream().filter(item -> item instanceof ResourceTransactionManager resourceTransactionManager && resourceTransactionManager.getResourceFactory() == dataSource).findFirst().orElse(transactionManagers.size() == 1 ? transactionManagers.getFirst() : null);
+        }
+        if (Objects.isNull(transactionManager)) {
+            log.error("{} 没有找到mapper所在数据源的事务管理器", this.getModelClazz().getName());
+            throw new IException(CommonErrorInfo.SERVER_ERROR);
+        }
+        this.transactionManager = transactionManager;
+        return transactionManager;
+    }
+
+    public void exportExcel(String fileName, List<Map<String, Object>> data, HttpServletResponse response) {
+        if (StringUtil.isEmpty(fileName)) {
+            throw new IException("请指定文件名");
+        }
+        try {
+            fileName = this.exportFileName(fileName);
+            List<Field> modelBaseFields = this.getModelBaseFields();
+            ExcelUtil.writeOneSheetExcel(data, this.exportKeyList(modelBaseFields), this.exportTitleList(modelBaseFields), null, null, fileName, response);
         } catch (IOException e) {
             log.error("异常: ", e);
             response.reset();
@@ -599,6 +1770,391 @@ public abstract class AbstractBaseDataService<P, M extends BaseDataMapper<T>, T
         }
     }
 
+    /**
+     * <p>流式导出,按{@link #getExportBatchSize()}分批查询并写入响应流,内存中只保留一批数据</p>
+     * <p>导出全部符合条件的数据,不分页;超过xlsx单个sheet行数上限时自动新建sheet</p>
+     *
+     * @param fileName 文件名
+     * @param params   查询条件
+     * @param response HttpServletResponse
+     **/
+    public void exportExcel(String fileName, @NotNull Map<String, Object> params, HttpServletResponse response) {
+        this.exportExcel(fileName, params, this.getExportPrefetch(), response);
+    }
+
+    /**
+     * <p>流式导出,prefetch大于0时在虚拟线程上提前查询最多prefetch批数据,查询和写入excel同时进行</p>
+     *
+     * @param fileName 文件名
+     * @param params   查询条件
+     * @param prefetch 提前查询的批数,0为不预取
+     * @param response HttpServletResponse
+     **/
+    public void exportExcel(String fileName, @NotNull Map<String, Object> params, int prefetch, HttpServletResponse response) {
+        if (StringUtil.isEmpty(fileName)) {
+            throw new IException("请指定文件名");
+        }
+        fileName = this.exportFileName(fileName);
+        response.setContentType("application/vnd.ms-excel;charset=utf-8");
+        response.setCharacterEncoding("utf-8");
+        response.setHeader("Content-Disposition", "attachment;filename=" + fileName);
+        try {
+            this.writeExcel(params, prefetch, this.exportSheetName(fileName), response.getOutputStream());
+        } catch (IOException e) {
+            log.error("异常: ", e);
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setContentType("application/json");
+                response.setCharacterEncoding("utf-8");
+            }
+            throw new IException("Excel导出失败", e);
+        }
+    }
+
+    /**
+     * <p>分批查询并写入xlsx,不关闭输出流</p>
+     *
+     * @param params       查询条件
+     * @param prefetch     提前查询的批数,0为不预取
+     * @param sheet        sheet名
+     * @param outputStream 输出流
+     **/
+    public void writeExcel(@NotNull Map<String, Object> params, int prefetch, String sheet, @NotNull OutputStream outputStream) {
+        this.writeFilteredExcel(this.batchParamFilter(params, this.getExportBatchSize()), prefetch, sheet, outputStream);
+    }
+
+    /**
+     * <p>filterMap已经由{@link #batchParamFilter(Map, int)}处理,不再调用{@link #listParamFilter(Map)}</p>
+     **/
+    private void writeFilteredExcel(@NotNull Map<String, Object> filterMap, int prefetch, String sheet, @NotNull OutputStream outputStream) {
+        List<Field> modelBaseFields = this.getModelBaseFields();
+        try (ExcelBatchWriter excelBatchWriter = ExcelUtil.batchWriter(this.exportKeyList(modelBaseFields), this.exportTitleList(modelBaseFields), sheet, null, null, outputStream)) {
+            if (prefetch > 0) {
+                this.forEachFilteredListBatch(filterMap, this.getExportBatchSize(), prefetch, excelBatchWriter::write);
+            } else {
+                this.forEachFilteredListBatch(filterMap, this.getExportBatchSize(), excelBatchWriter::write);
+            }
+        }
+    }
+
+    /**
+     * <p>提交异步导出excel任务,由导出线程池写入spool目录的文件,返回任务后通过任务id查询状态、下载</p>
+     * <p>查询条件在当前请求线程中经过一次{@link #listParamFilter(Map)}和{@link #listValidate(Map)},按请求、会话限定的条件在提交前确定,导出线程直接使用,不再处理</p>
+     * <p>同一提交人的实体类、查询条件、数据版本相同且文件未过期时复用已有任务</p>
+     *
+     * @param fileName 文件名
+     * @param params   查询条件
+     * @return ExportJob
+     **/
+    public @NotNull ExportJob submitExportExcel(String fileName, @NotNull Map<String, Object> params) {
+        if (StringUtil.isEmpty(fileName)) {
+            throw new IException("请指定文件名");
+        }
+        String exportFileName = this.exportFileName(fileName);
+        Map<String, Object> filterParams = new HashMap<>();
+        params.forEach((key, value) -> {
+            if (Objects.nonNull(key) && Objects.nonNull(value) && !EXPORT_IGNORE_PARAMS.contains(key)) {
+                filterParams.put(key, value);
+            }
+        });
+        Map<String, Object> exportParams = new TreeMap<>(this.batchParamFilter(filterParams, this.getExportBatchSize()));
+        String owner = this.exportJobOwner();
+        String modelName = this.getModelClazz().getName();
+        String key = ExportJobManager.key(modelName, "xlsx", owner, exportFileName, JSON.toJSONString(exportParams), String.valueOf(CacheTool.getModelDataVersion(this.getModelClazz())));
+        int prefetch = this.getExportPrefetch();
+        String sheet = this.exportSheetName(exportFileName);
+        return ExportJobManager.submit(key, owner, modelName, exportFileName, "application/vnd.ms-excel;charset=utf-8", outputStream -> this.writeFilteredExcel(new HashMap<>(exportParams), prefetch, sheet, outputStream));
+    }
+
+    /**
+     * <p>导出任务的提交人,默认是当前会话id;没有会话时抛出异常,不同调用方不能共用任务,使用token等方式鉴权时重写</p>
+     *
+     * @return String
+     **/
+    public @NotNull String exportJobOwner() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes servletRequestAttributes) {
+            HttpSession session = servletRequestAttributes.getRequest().getSession(false);
+            if (Objects.nonNull(session)) {
+                return session.getId();
+            }
+        }
+        log.warn("{} 导出任务没有会话,无法确定提交人,没有会话的鉴权方式需要重写exportJobOwner", this.getModelClazz().getName());
+        throw new IException(CommonErrorInfo.PERMISSION_ERROR);
+    }
+
+    /**
+     * <p>查询本实体类、当前提交人的导出任务</p>
+     *
+     * @param id 任务id
+     * @return ExportJob
+     **/
+    public @NotNull ExportJob getExportJob(String id) {
+        ExportJob job = ExportJobManager.get(id);
+        if (Objects.isNull(job) || !StrUtil.equals(job.getModelName(), this.getModelClazz().getName()) || !StrUtil.equals(job.getOwner(), this.exportJobOwner())) {
+            throw new IException("导出任务不存在或已过期");
+        }
+        return job;
+    }
+
+    /**
+     * <p>下载导出任务的文件,支持Range断点续传</p>
+     *
+     * @param id       任务id
+     * @param request  HttpServletRequest
+     * @param response HttpServletResponse
+     **/
+    public void downloadExportJob(String id, HttpServletRequest request, HttpServletResponse response) {
+        try {
+            ExportJobManager.download(this.getExportJob(id), request, response);
+        } catch (IOException e) {
+            log.error("下载导出文件异常: ", e);
+            throw new IException("下载导出文件失败", e);
+        }
+    }
+
+    /**
+     * <p>流式导出csv,逐行从数据库读取并直接编码写入响应流,表头为字段标题</p>
+     *
+     * @param fileName 文件名
+     * @param params   查询条件
+     * @param gzip     是否gzip压缩响应(Content-Encoding: gzip)
+     * @param response HttpServletResponse
+     **/
+    public void exportCsv(String fileName, @NotNull Map<String, Object> params, boolean gzip, HttpServletResponse response) {
+        List<Field> modelBaseFields = this.getModelBaseFields();
+        List<String> dataKeyList = this.exportKeyList(modelBaseFields);
+        this.exportStream(fileName, ".csv", "text/csv;charset=utf-8", gzip, response, outputStream -> {
+            CsvWriter csvWriter = new CsvWriter(outputStream);
+            csvWriter.writeRow(this.exportTitleList(modelBaseFields));
+            this.forEachListBatch(params, this.getExportBatchSize(), batch -> batch.forEach(row -> csvWriter.writeRow(row, dataKeyList)));
+            csvWriter.flush();
+        });
+    }
+
+    /**
+     * <p>流式导出ndjson,每行一个json对象,key为字段名</p>
+     *
+     * @param fileName 文件名
+     * @param params   查询条件
+     * @param gzip     是否gzip压缩响应(Content-Encoding: gzip)
+     * @param response HttpServletResponse
+     **/
+    public void exportNdjson(String fileName, @NotNull Map<String, Object> params, boolean gzip, HttpServletResponse response) {
+        List<String> dataKeyList = this.exportKeyList(this.getModelBaseFields());
+        this.exportStream(fileName, ".ndjson", "application/x-ndjson;charset=utf-8", gzip, response, outputStream -> {
+            try (NdjsonWriter ndjsonWriter = new NdjsonWriter(outputStream)) {
+                this.forEachListBatch(params, this.getExportBatchSize(), batch -> batch.forEach(row -> ndjsonWriter.writeRow(row, dataKeyList)));
+            }
+        });
+    }
+
+    private void exportStream(String fileName, String suffix, String contentType, boolean gzip, HttpServletResponse response, @NotNull ExportWriter exportWriter) {
+        if (StringUtil.isEmpty(fileName)) {
+            throw new IException("请指定文件名");
+        }
+        response.setContentType(contentType);
+        response.setCharacterEncoding("utf-8");
+        response.setHeader("Content-Disposition", "attachment;filename=" + this.exportFileName(fileName, suffix));
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip");
+        }
+        try {
+            OutputStream outputStream = response.getOutputStream();
+            if (gzip) {
+                GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 8192);
+                exportWriter.write(gzipOutputStream);
+                gzipOutputStream.finish();
+            } else {
+                exportWriter.write(outputStream);
+            }
+            outputStream.flush();
+        } catch (IOException | UncheckedIOException e) {
+            log.error("异常: ", e);
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setContentType("application/json");
+                response.setCharacterEncoding("utf-8");
+            }
+            throw new IException("导出失败", e);
+        }
+    }
+
+    /**
+     * <p>分批遍历全部符合条件的列表数据,不分页,每批最多batchSize行</p>
+     * <p>有_getListCursor语句时流式读取并复用同一个批次List,consumer不要持有它;否则按主键游标分页逐页查询</p>
+     * <p>当前线程有事务且实体类有主键时也按主键游标分页,流式读取会占住事务连接(mysql),consumer在同一事务里查询或更新会失败</p>
+     * <p>查询条件在当前线程经过一次{@link #listParamFilter(Map)}和{@link #listValidate(Map)},之后每批不再处理</p>
+     *
+     * @param map       查询条件
+     * @param batchSize 每批行数
+     * @param consumer  处理一批数据
+     **/
+    public void forEachListBatch(@NotNull Map<String, Object> map, int batchSize, @NotNull Consumer<List<Map<String, Object>>> consumer) {
+        this.forEachFilteredListBatch(this.batchParamFilter(map, batchSize), batchSize, consumer);
+    }
+
+    /**
+     * <p>分批遍历全部符合条件的列表数据,查询在虚拟线程上提前进行,consumer在当前线程按顺序处理</p>
+     * <p>最多缓存prefetch批,consumer处理慢时查询线程阻塞等待;任一方异常时另一方停止,异常在当前线程抛出</p>
+     * <p>查询条件在当前线程处理和校验后再交给查询线程,查询线程中没有请求上下文,不会再调用{@link #listParamFilter(Map)}</p>
+     *
+     * @param map       查询条件
+     * @param batchSize 每批行数
+     * @param prefetch  最多提前查询的批数
+     * @param consumer  处理一批数据
+     **/
+    public void forEachListBatch(@NotNull Map<String, Object> map, int batchSize, int prefetch, @NotNull Consumer<List<Map<String, Object>>> consumer) {
+        this.forEachFilteredListBatch(this.batchParamFilter(map, batchSize), batchSize, prefetch, consumer);
+    }
+
+    /**
+     * <p>分批查询的条件,经过{@link #listParamFilter(Map)}和{@link #listValidate(Map)}后去掉分页、游标参数,排序保留</p>
+     *
+     * @param map       查询条件
+     * @param batchSize 每批行数
+     * @return Map<String, Object> 新的map,不改动传入的map
+     **/
+    private @NotNull Map<String, Object> batchParamFilter(@NotNull Map<String, Object> map, int batchSize) {
+        Map<String, Object> filterMap = new HashMap<>(map);
+        filterMap.keySet().removeIf(key -> LIST_CONTROL_PARAMS.contains(key) && !EXPORT_ORDER_PARAMS.contains(key));
+        filterMap.put("pageIndex", 1);
+        filterMap.put("pageSize", batchSize);
+        filterMap = this.listParamFilter(filterMap);
+        if (!this.listValidate(filterMap)) {
+            throw new IException(CommonErrorInfo.BODY_NOT_MATCH);
+        }
+        Map<String, Object> batchMap = new HashMap<>();
+        filterMap.forEach((key, value) -> {
+            if (Objects.nonNull(key) && Objects.nonNull(value) && (!LIST_CONTROL_PARAMS.contains(key) || EXPORT_ORDER_PARAMS.contains(key))) {
+                batchMap.put(key, value);
+            }
+        });
+        return batchMap;
+    }
+
+    private void forEachFilteredListBatch(@NotNull Map<String, Object> filterMap, int batchSize, @NotNull Consumer<List<Map<String, Object>>> consumer) {
+        boolean seekable = Objects.nonNull(this.getModelPrimaryField());
+        if (this.hasStatement(GET_LIST_CURSOR_STATEMENT) && !(seekable && TransactionSynchronizationManager.isActualTransactionActive())) {
+            List<Map<String, Object>> batch = new ArrayList<>(batchSize);
+            try (Stream<Map<String, Object>> stream = this.stream(this.<Map<String, Object>>openFilteredCursor(GET_LIST_CURSOR_STATEMENT, new HashMap<>(filterMap)))) {
+                Iterator<Map<String, Object>> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    batch.add(iterator.next());
+                    if (batch.size() >= batchSize) {
+                        consumer.accept(batch);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                consumer.accept(batch);
+            }
+            return;
+        }
+        String after = null;
+        do {
+            Map<String, Object> pageMap = new HashMap<>(filterMap);
+            pageMap.put("pageIndex", 0);
+            pageMap.put("pageSize", batchSize);
+            if (Objects.nonNull(after)) {
+                pageMap.put(CURSOR_AFTER_PARAM, after);
+            }
+            this.cursorParamFilter(pageMap);
+            List<Map<String, Object>> list = this.getMapper()._getList(pageMap);
+            if (!list.isEmpty()) {
+                consumer.accept(list);
+            }
+            after = this.nextCursor(list, pageMap);
+        } while (Objects.nonNull(after));
+    }
+
+    private void forEachFilteredListBatch(@NotNull Map<String, Object> filterMap, int batchSize, int prefetch, @NotNull Consumer<List<Map<String, Object>>> consumer) {
+        BlockingQueue<List<Map<String, Object>>> queue = new ArrayBlockingQueue<>(prefetch);
+        Future<Void> future = QUERY_EXECUTOR.submit(() -> {
+            try {
+                this.forEachFilteredListBatch(filterMap, batchSize, batch -> this.putBatch(queue, new ArrayList<>(batch)));
+            } finally {
+                this.putBatch(queue, END_OF_BATCHES);
+            }
+            return null;
+        });
+        try {
+            List<Map<String, Object>> batch;
+            while ((batch = queue.take()) != END_OF_BATCHES) {
+                consumer.accept(batch);
+            }
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("分批处理被中断", e);
+        } catch (RuntimeException | Error e) {
+            future.cancel(true);
+            throw e;
+        }
+        this.await(future);
+    }
+
+    private void putBatch(@NotNull BlockingQueue<List<Map<String, Object>>> queue, @NotNull List<Map<String, Object>> batch) {
+        try {
+            queue.put(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("分批查询被中断", e);
+        }
+    }
+
+    /**
+     * <p>流式导出提前查询的批数,{@link Data#exportPrefetch()}</p>
+     *
+     * @return int 0为不预取
+     **/
+    public int getExportPrefetch() {
+        Data data = this.getModelClazz().getAnnotation(Data.class);
+        return Objects.isNull(data) ? 0 : Math.max(data.exportPrefetch(), 0);
+    }
+
+    /**
+     * <p>流式导出每批查询、写入的行数</p>
+     *
+     * @return int
+     **/
+    public int getExportBatchSize() {
+        return 1000;
+    }
+
+    private @NotNull String exportSheetName(@NotNull String fileName) {
+        return StrUtil.removeSuffix(StrUtil.removeSuffix(fileName, ".xlsx"), ".xls");
+    }
+
+    private @NotNull String exportFileName(String fileName) {
+        return fileName.endsWith(".xls") ? this.exportFileName(fileName, ".xls") : this.exportFileName(fileName, ".xlsx");
+    }
+
+    private @NotNull String exportFileName(String fileName, String suffix) {
+        fileName = URLEncoder.encode(fileName, StandardCharsets.UTF_8);
+        if (StringUtil.isEmpty(fileName)) {
+            fileName = this.getModelClazz().getAnnotation(Data.class).title();
+        }
+        if (!fileName.endsWith(suffix)) {
+            fileName += suffix;
+        }
+        return fileName;
+    }
+
+    private @NotNull List<String> exportKeyList(@NotNull List<Field> modelBaseFields) {
+        return modelBaseFields.stream().map(Field::getName).toList();
+    }
+
+    private @NotNull List<String> exportTitleList(@NotNull List<Field> modelBaseFields) {
+        return modelBaseFields.stream().map(item -> {
+            String title = item.getAnnotation(Column.class).title();
+            if (StringUtil.isEmpty(title)) {
+                return item.getName();
+            }
+            return title;
+        }).toList();
+    }
+
     @SuppressWarnings("unchecked")
     public Class<T> getModelClazz() {
         return (Class<T>) CacheTool.getServiceModelGeneric(this.getClass());
@@ -0,0 +1,50 @@
+package com.ws.cache;
+
+import com.ws.tool.StringUtil;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author GSF
+ * <p>元数据缓存的命中/未命中/构建耗时统计</p>
+ */
+public class CacheStats {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder buildNanos = new LongAdder();
+
+    public void recordHit() {
+        this.hits.increment();
+    }
+
+    public void recordBuild(long nanos) {
+        this.misses.increment();
+        this.buildNanos.add(nanos);
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    public long getBuildNanos() {
+        return this.buildNanos.sum();
+    }
+
+    public void reset() {
+        this.hits.reset();
+        this.misses.reset();
+        this.buildNanos.reset();
+    }
+
+    @Override
+    public String toString() {
+        return StringUtil.concat("hits=", String.valueOf(this.getHits()), ", misses=", String.valueOf(this.getMisses()), ", buildMillis=", String.valueOf(TimeUnit.NANOSECONDS.toMillis(this.getBuildNanos())));
+    }
+
+}
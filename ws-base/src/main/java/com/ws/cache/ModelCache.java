@@ -3,19 +3,29 @@ package com.ws.cache;
 import com.ws.annotation.Column;
 import com.ws.annotation.Data;
 import com.ws.base.model.BaseModel;
+import com.ws.base.model.LambdaModelAccessor;
+import com.ws.base.model.ModelAccessor;
 import com.ws.cache.column.ColumnType;
 import com.ws.cache.column.ColumnTypeFactory;
+import com.ws.cache.convert.FieldConverter;
+import com.ws.cache.convert.FieldConverterFactory;
 import com.ws.tool.CommonTool;
+import com.ws.tool.StringUtil;
+import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+@Slf4j
 @lombok.Data
 public class ModelCache {
 
@@ -24,13 +34,87 @@ public class ModelCache {
     public List<Field> baseFields;
     public Field primaryField;
     public List<ColumnType> columnTypes;
+    public ModelAccessor<? extends BaseModel> accessor;
+    public FieldConverter[] converters;
+    /**
+     * <p>按slot顺序的excel表头,@Column的title,没有title时为属性名</p>
+     **/
+    public String[] titles;
+    /**
+     * <p>数据版本,通过service增删改时递增,用于让条数缓存等失效</p>
+     **/
+    public final AtomicLong dataVersion = new AtomicLong();
+    public final TotalCache totalCache = new TotalCache();
 
     public ModelCache(Class<? extends BaseModel> modelClazz) {
-        this.fields = CommonTool.getClazzFields(modelClazz);
-        this.fieldsMap = this.fields.stream().collect(Collectors.toMap(Field::getName, value -> value));
+        this.fields = CommonTool.getClazzFields(modelClazz).stream().filter(field -> !Modifier.isStatic(field.getModifiers())).toList();
+        this.fieldsMap = this.fields.stream().collect(Collectors.toUnmodifiableMap(Field::getName, value -> value));
         this.baseFields = this.fields.stream().filter(field -> Objects.nonNull(field.getAnnotation(Column.class))).toList();
         this.primaryField = modelPrimaryField();
         this.columnTypes = modelColumnType(modelClazz);
+        this.accessor = modelAccessor(modelClazz);
+        this.converters = modelConverters();
+        this.titles = modelTitles();
+    }
+
+    private String[] modelTitles() {
+        String[] titles = new String[this.accessor.size()];
+        for (int slot = 0; slot < titles.length; slot++) {
+            String title = this.accessor.fieldName(slot);
+            Column annotation = this.fieldsMap.get(title).getAnnotation(Column.class);
+            if (Objects.nonNull(annotation) && StringUtil.isNotEmpty(annotation.title())) {
+                title = annotation.title();
+            }
+            titles[slot] = title;
+        }
+        return titles;
+    }
+
+    /**
+     * <p>按accessor的slot顺序准备好每个属性的类型转换器</p>
+     **/
+    private FieldConverter[] modelConverters() {
+        FieldConverter[] converters = new FieldConverter[this.accessor.size()];
+        for (int slot = 0; slot < converters.length; slot++) {
+            converters[slot] = FieldConverterFactory.getInstance().create(this.accessor.fieldType(slot));
+        }
+        return converters;
+    }
+
+    /**
+     * <p>优先使用ws-generate生成的{实体类名}Accessor,不存在或者和实体类属性对不上时退回到运行时构建</p>
+     **/
+    private @NotNull ModelAccessor<? extends BaseModel> modelAccessor(@NotNull Class<? extends BaseModel> modelClazz) {
+        String accessorClazzName = StringUtil.concat(modelClazz.getName(), "Accessor");
+        try {
+            Class<?> accessorClazz = Class.forName(accessorClazzName, true, modelClazz.getClassLoader());
+            if (ModelAccessor.class.isAssignableFrom(accessorClazz)) {
+                ModelAccessor<?> accessor = (ModelAccessor<?>) accessorClazz.getConstructor().newInstance();
+                if (this.accessorMatches(accessor)) {
+                    return accessor;
+                }
+                log.warn("{} 和实体类属性或属性类型不一致,可能需要重新生成,使用运行时构建的访问器", accessorClazzName);
+            }
+        } catch (ClassNotFoundException ignore) {
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("{} 实例化失败,使用运行时构建的访问器", accessorClazzName, e);
+        }
+        return new LambdaModelAccessor<>(modelClazz, this.fields);
+    }
+
+    /**
+     * <p>属性名和每个slot的属性类型都一致,属性类型改了但没有重新生成时不能使用</p>
+     **/
+    private boolean accessorMatches(@NotNull ModelAccessor<?> accessor) {
+        if (!new HashSet<>(accessor.fieldNames()).equals(this.fieldsMap.keySet())) {
+            return false;
+        }
+        for (int slot = 0; slot < accessor.size(); slot++) {
+            if (accessor.fieldType(slot) != this.fieldsMap.get(accessor.fieldName(slot)).getType()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private @Nullable Field modelPrimaryField() {
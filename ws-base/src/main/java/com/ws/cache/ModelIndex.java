@@ -0,0 +1,63 @@
+package com.ws.cache;
+
+import com.alibaba.fastjson2.JSON;
+import com.ws.tool.StringUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * @author GSF
+ * <p>编译期生成的实体类索引,位于{@link #INDEX_LOCATION},每行一个实体类的json</p>
+ * <p>由ws-generate的ModelIndexProcessor在编译时写入,有索引的classpath根目录启动时不再扫描,字段等元数据仍由{@link ModelCache}从类本身构建</p>
+ */
+@lombok.Data
+public class ModelIndex {
+
+    public static final String INDEX_LOCATION = "META-INF/ws/model.index";
+
+    private String model;
+
+    public String toJson() {
+        return JSON.toJSONString(this);
+    }
+
+    public static ModelIndex fromJson(String json) {
+        return JSON.parseObject(json, ModelIndex.class);
+    }
+
+    /**
+     * <p>读取classpath下所有的索引文件,按索引所在的classpath根目录分组</p>
+     * <p>key为根目录的url(如file:/app/classes/、jar:file:/lib/a.jar!/),该根目录下的class以这个前缀开头</p>
+     *
+     * @param classLoader 类加载器
+     * @return Map<String, List<ModelIndex>> 没有索引文件时返回空map
+     **/
+    public static @NotNull Map<String, List<ModelIndex>> load(@NotNull ClassLoader classLoader) throws IOException {
+        Map<String, List<ModelIndex>> indexMap = new LinkedHashMap<>();
+        Enumeration<URL> resources = classLoader.getResources(INDEX_LOCATION);
+        while (resources.hasMoreElements()) {
+            URL url = resources.nextElement();
+            String location = url.toString();
+            String root = location.substring(0, location.length() - INDEX_LOCATION.length());
+            List<ModelIndex> modelIndexList = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (StringUtil.isEmpty(line.trim())) {
+                        continue;
+                    }
+                    modelIndexList.add(fromJson(line));
+                }
+            }
+            indexMap.putIfAbsent(root, modelIndexList);
+        }
+        return indexMap;
+    }
+
+}
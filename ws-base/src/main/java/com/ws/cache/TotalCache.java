@@ -0,0 +1,75 @@
+package com.ws.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author GSF
+ * <p>实体类数据条数缓存,key为规范化后的查询条件</p>
+ * <p>每条缓存记录写入时的数据版本,版本变化(本实体类有增删改)或过期后失效,缓存满时优先淘汰失效的记录;多实例部署时其它实例的写入只能靠过期时间兜底</p>
+ */
+public class TotalCache {
+
+    public static final int MAX_SIZE = 1024;
+
+    private static final int EVICT_SIZE = MAX_SIZE / 8;
+
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+    private final CacheStats stats = new CacheStats();
+
+    private record Entry(int total, long version, long expireAt) {
+    }
+
+    public @Nullable Integer get(@NotNull String key, long version) {
+        Entry entry = this.cache.get(key);
+        if (Objects.isNull(entry) || entry.version() != version || entry.expireAt() < System.currentTimeMillis()) {
+            return null;
+        }
+        this.stats.recordHit();
+        return entry.total();
+    }
+
+    public void put(@NotNull String key, int total, long version, long ttlMillis, long loadNanos) {
+        this.stats.recordBuild(loadNanos);
+        if (this.cache.size() >= MAX_SIZE && !this.cache.containsKey(key)) {
+            this.evict(version);
+        }
+        this.cache.put(key, new Entry(total, version, System.currentTimeMillis() + ttlMillis));
+    }
+
+    /**
+     * <p>缓存满时先移除过期和版本已变化的记录,仍然满时移除最早过期的{@link #EVICT_SIZE}条,不整体清空</p>
+     *
+     * @param version 当前数据版本
+     **/
+    private synchronized void evict(long version) {
+        if (this.cache.size() < MAX_SIZE) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        this.cache.values().removeIf(entry -> entry.version() != version || entry.expireAt() < now);
+        if (this.cache.size() < MAX_SIZE) {
+            return;
+        }
+        this.cache.entrySet().stream()
+                .sorted(Comparator.comparingLong(item -> item.getValue().expireAt()))
+                .limit(EVICT_SIZE)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(this.cache::remove);
+    }
+
+    public void clear() {
+        this.cache.clear();
+    }
+
+    public CacheStats getStats() {
+        return this.stats;
+    }
+
+}
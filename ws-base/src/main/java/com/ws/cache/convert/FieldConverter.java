@@ -0,0 +1,37 @@
+package com.ws.cache.convert;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * @author GSF
+ * <p>属性类型转换器,每个目标类型一个实例,按来源类型缓存选好的转换函数,避免每个值都走一次hutool的转换器查找</p>
+ */
+public class FieldConverter {
+
+    private final Class<?> targetType;
+    private final Map<Class<?>, Function<Object, Object>> converters = new ConcurrentHashMap<>();
+
+    FieldConverter(Class<?> targetType) {
+        this.targetType = targetType;
+    }
+
+    public Class<?> getTargetType() {
+        return this.targetType;
+    }
+
+    public Object convert(Object value) {
+        if (Objects.isNull(value)) {
+            return null;
+        }
+        Class<?> sourceType = value.getClass();
+        Function<Object, Object> converter = this.converters.get(sourceType);
+        if (Objects.isNull(converter)) {
+            converter = this.converters.computeIfAbsent(sourceType, key -> FieldConverterFactory.getInstance().create(this.targetType, key));
+        }
+        return converter.apply(value);
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.ws.cache.convert;
+
+import cn.hutool.core.convert.BasicType;
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.util.BooleanUtil;
+import cn.hutool.core.util.StrUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * @author GSF
+ * <p>按(目标类型,来源类型)选择转换函数,常见的String转Long/Integer/Date/BigDecimal/Boolean直接解析,其余交给hutool的Convert</p>
+ */
+public class FieldConverterFactory {
+
+    private FieldConverterFactory() {
+    }
+
+    private static final FieldConverterFactory factory = new FieldConverterFactory();
+
+    private final Map<Class<?>, FieldConverter> fieldConverters = new ConcurrentHashMap<>();
+
+    public static FieldConverterFactory getInstance() {
+        return factory;
+    }
+
+    /**
+     * <p>目标类型对应的转换器,同一目标类型共用一个实例</p>
+     *
+     * @param targetType 属性类型
+     * @return FieldConverter
+     **/
+    public FieldConverter create(@NotNull Class<?> targetType) {
+        return this.fieldConverters.computeIfAbsent(targetType, FieldConverter::new);
+    }
+
+    public Function<Object, Object> create(@NotNull Class<?> targetType, @NotNull Class<?> sourceType) {
+        Class<?> wrapType = BasicType.wrap(targetType);
+        if (wrapType.isAssignableFrom(sourceType)) {
+            return value -> value;
+        }
+        if (sourceType == String.class) {
+            Function<Object, Object> converter = this.createFromString(targetType, wrapType);
+            if (converter != null) {
+                return converter;
+            }
+        }
+        if (Number.class.isAssignableFrom(sourceType)) {
+            if (wrapType == Long.class) {
+                return value -> ((Number) value).longValue();
+            }
+            if (wrapType == Integer.class) {
+                return value -> ((Number) value).intValue();
+            }
+        }
+        return value -> Convert.convert(targetType, value);
+    }
+
+    private Function<Object, Object> createFromString(Class<?> targetType, Class<?> wrapType) {
+        if (wrapType == Long.class) {
+            return value -> {
+                String str = StrUtil.trim((String) value);
+                try {
+                    return str.isEmpty() ? Convert.convert(targetType, value) : Long.valueOf(str);
+                } catch (NumberFormatException e) {
+                    return Convert.convert(targetType, value);
+                }
+            };
+        }
+        if (wrapType == Integer.class) {
+            return value -> {
+                String str = StrUtil.trim((String) value);
+                try {
+                    return str.isEmpty() ? Convert.convert(targetType, value) : Integer.valueOf(str);
+                } catch (NumberFormatException e) {
+                    return Convert.convert(targetType, value);
+                }
+            };
+        }
+        if (wrapType == BigDecimal.class) {
+            return value -> {
+                String str = StrUtil.trim((String) value);
+                try {
+                    return str.isEmpty() ? null : new BigDecimal(str);
+                } catch (NumberFormatException e) {
+                    return Convert.convert(targetType, value);
+                }
+            };
+        }
+        if (wrapType == Boolean.class) {
+            return value -> {
+                String str = StrUtil.trim((String) value);
+                return str.isEmpty() ? Convert.convert(targetType, value) : BooleanUtil.toBoolean(str);
+            };
+        }
+        if (targetType == Date.class) {
+            return value -> {
+                String str = StrUtil.trim((String) value);
+                if (str.isEmpty()) {
+                    return null;
+                }
+                try {
+                    return DateUtil.parse(str).toJdkDate();
+                } catch (RuntimeException e) {
+                    return Convert.convert(targetType, value);
+                }
+            };
+        }
+        return null;
+    }
+
+}
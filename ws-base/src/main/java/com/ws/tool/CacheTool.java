@@ -4,50 +4,87 @@ import com.ws.base.controller.AbstractBaseDataController;
 import com.ws.base.controller.BaseDataController;
 import com.ws.base.mapper.BaseDataMapper;
 import com.ws.base.model.BaseModel;
+import com.ws.base.model.ModelAccessor;
 import com.ws.base.service.BaseDataService;
+import com.ws.cache.CacheStats;
 import com.ws.cache.ControllerCache;
 import com.ws.cache.ModelCache;
 import com.ws.cache.ServiceCache;
+import com.ws.cache.TotalCache;
 import com.ws.cache.column.ColumnType;
+import com.ws.cache.convert.FieldConverter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.springframework.util.ClassUtils;
 
 import java.lang.reflect.Field;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 public class CacheTool {
 
-    public static Map<Class<? extends BaseModel>, ModelCache> modelCacheMap = new HashMap<>();
-    public static Map<Class<? extends BaseDataService>, ServiceCache> serviceCacheMap = new HashMap<>();
-    public static Map<Class<? extends BaseDataController>, ControllerCache> controllerCacheMap = new HashMap<>();
+    public static final Map<Class<? extends BaseModel>, ModelCache> modelCacheMap = new ConcurrentHashMap<>();
+    public static final Map<Class<? extends BaseDataService>, ServiceCache> serviceCacheMap = new ConcurrentHashMap<>();
+    public static final Map<Class<? extends BaseDataController>, ControllerCache> controllerCacheMap = new ConcurrentHashMap<>();
+
+    public static final CacheStats modelCacheStats = new CacheStats();
+    public static final CacheStats serviceCacheStats = new CacheStats();
+    public static final CacheStats controllerCacheStats = new CacheStats();
 
     public static void initModelCache(@NotNull List<Class<? extends BaseModel>> models) {
         for (Class<? extends BaseModel> model : models) {
-            modelCacheMap.put(model, new ModelCache(model));
+            getOrCreateModelCache(model);
         }
     }
 
+    /**
+     * <p>在ForkJoin公共线程池上并行构建实体类缓存</p>
+     **/
+    public static void initModelCacheParallel(@NotNull List<Class<? extends BaseModel>> models) {
+        models.parallelStream().forEach(CacheTool::getOrCreateModelCache);
+    }
+
     public static void initServiceCache(@NotNull List<Class<? extends BaseDataService>> services) {
         for (Class<? extends BaseDataService> service : services) {
-            serviceCacheMap.put(service, new ServiceCache(service));
+            getOrCreateServiceCache(service);
         }
     }
 
     public static void initControllerCache(@NotNull List<Class<? extends BaseDataController>> controllers) {
         for (Class<? extends BaseDataController> controller : controllers) {
-            controllerCacheMap.put(controller, new ControllerCache(controller));
+            getOrCreateControllerCache(controller);
         }
     }
 
-    private static @NotNull ServiceCache getOrCreateServiceCache(Class<? extends BaseDataService> serviceClazz) {
-        ServiceCache serviceCache = serviceCacheMap.get(serviceClazz);
-        if (Objects.isNull(serviceCache)) {
-            serviceCache = new ServiceCache(serviceClazz);
+    /**
+     * <p>先无锁读取,未命中时computeIfAbsent保证并发下每个类只构建一次</p>
+     * <p>CGLIB等代理类会先还原成原始类,代理类和原始类共用一份缓存</p>
+     **/
+    @SuppressWarnings("unchecked")
+    private static <K extends Class<?>, V> @NotNull V getOrCreate(@NotNull Map<K, V> cacheMap, @NotNull CacheStats stats, @NotNull K clazz, Function<K, V> creator) {
+        V cache = cacheMap.get(clazz);
+        if (Objects.nonNull(cache)) {
+            stats.recordHit();
+            return cache;
+        }
+        K userClazz = (K) ClassUtils.getUserClass(clazz);
+        cache = cacheMap.computeIfAbsent(userClazz, key -> {
+            long start = System.nanoTime();
+            V value = creator.apply(key);
+            stats.recordBuild(System.nanoTime() - start);
+            return value;
+        });
+        if (userClazz != clazz) {
+            cacheMap.putIfAbsent(clazz, cache);
         }
-        return serviceCache;
+        return cache;
+    }
+
+    private static @NotNull ServiceCache getOrCreateServiceCache(Class<? extends BaseDataService> serviceClazz) {
+        return getOrCreate(serviceCacheMap, serviceCacheStats, serviceClazz, ServiceCache::new);
     }
 
     public static Class<? extends BaseModel> getServiceModelGeneric(@NotNull Class<? extends BaseDataService> serviceClazz) {
@@ -69,17 +106,44 @@ public class CacheTool {
     }
 
     private static @NotNull ModelCache getOrCreateModelCache(Class<? extends BaseModel> modelClazz) {
-        ModelCache modelCache = modelCacheMap.get(modelClazz);
-        if (Objects.isNull(modelCache)) {
-            modelCache = new ModelCache(modelClazz);
-        }
-        return modelCache;
+        return getOrCreate(modelCacheMap, modelCacheStats, modelClazz, ModelCache::new);
     }
 
     public static List<Field> getModelFields(@NotNull Class<? extends BaseModel> modelClazz) {
         return getOrCreateModelCache(modelClazz).fields;
     }
 
+    public static Map<String, Field> getModelFieldsMap(@NotNull Class<? extends BaseModel> modelClazz) {
+        return getOrCreateModelCache(modelClazz).fieldsMap;
+    }
+
+    public static ModelAccessor<? extends BaseModel> getModelAccessor(@NotNull Class<? extends BaseModel> modelClazz) {
+        return getOrCreateModelCache(modelClazz).accessor;
+    }
+
+    public static FieldConverter[] getModelConverters(@NotNull Class<? extends BaseModel> modelClazz) {
+        return getOrCreateModelCache(modelClazz).converters;
+    }
+
+    public static String[] getModelTitles(@NotNull Class<? extends BaseModel> modelClazz) {
+        return getOrCreateModelCache(modelClazz).titles;
+    }
+
+    public static long getModelDataVersion(@NotNull Class<? extends BaseModel> modelClazz) {
+        return getOrCreateModelCache(modelClazz).dataVersion.get();
+    }
+
+    /**
+     * <p>实体类数据有变化,数据版本加1,条数缓存随之失效</p>
+     **/
+    public static void markModelDataChanged(@NotNull Class<? extends BaseModel> modelClazz) {
+        getOrCreateModelCache(modelClazz).dataVersion.incrementAndGet();
+    }
+
+    public static TotalCache getModelTotalCache(@NotNull Class<? extends BaseModel> modelClazz) {
+        return getOrCreateModelCache(modelClazz).totalCache;
+    }
+
     public static List<Field> getModelBaseFields(@NotNull Class<? extends BaseModel> modelClazz) {
         return getOrCreateModelCache(modelClazz).baseFields;
     }
@@ -93,11 +157,7 @@ public class CacheTool {
     }
 
     private static @NotNull ControllerCache getOrCreateControllerCache(Class<? extends BaseDataController> controllerClazz) {
-        ControllerCache controllerCache = controllerCacheMap.get(controllerClazz);
-        if (Objects.isNull(controllerCache)) {
-            controllerCache = new ControllerCache(controllerClazz);
-        }
-        return controllerCache;
+        return getOrCreate(controllerCacheMap, controllerCacheStats, controllerClazz, ControllerCache::new);
     }
 
     public static Class<? extends BaseModel> getControllerModelGeneric(@NotNull Class<? extends BaseDataController> controllerClazz) {
@@ -0,0 +1,102 @@
+package com.ws.tool;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * @author GSF
+ * <p>逐个字段直接写入输出流的csv编码,不为每行拼接字符串</p>
+ * <p>按RFC 4180转义,行分隔符为\r\n,日期格式为yyyy-MM-dd HH:mm:ss</p>
+ */
+public class CsvWriter implements Flushable {
+
+    private final Writer writer;
+
+    public CsvWriter(@NotNull OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 8192);
+    }
+
+    /**
+     * <p>写入一行</p>
+     *
+     * @param values 字段值
+     **/
+    public void writeRow(@NotNull List<?> values) {
+        try {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    this.writer.write(',');
+                }
+                this.writeValue(values.get(i));
+            }
+            this.writer.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * <p>按key的顺序写入一行</p>
+     *
+     * @param row  数据
+     * @param keys 字段key
+     **/
+    public void writeRow(@NotNull Map<String, Object> row, @NotNull List<String> keys) {
+        try {
+            for (int i = 0; i < keys.size(); i++) {
+                if (i > 0) {
+                    this.writer.write(',');
+                }
+                this.writeValue(row.get(keys.get(i)));
+            }
+            this.writer.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (Objects.isNull(value)) {
+            return;
+        }
+        String text = value instanceof Date date ? DateUtil.getYMDHMS(date) : String.valueOf(value);
+        if (!this.needQuote(text)) {
+            this.writer.write(text);
+            return;
+        }
+        this.writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                this.writer.write('"');
+            }
+            this.writer.write(c);
+        }
+        this.writer.write('"');
+    }
+
+    private boolean needQuote(@NotNull String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * <p>把缓冲写入输出流,不关闭输出流</p>
+     **/
+    @Override
+    public void flush() throws IOException {
+        this.writer.flush();
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.ws.tool;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelWriter;
+import com.alibaba.excel.write.metadata.WriteSheet;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author GSF
+ * <p>分批写入excel,只持有当前一批数据,一个sheet写满xlsx行数上限后自动新建sheet</p>
+ */
+public class ExcelBatchWriter implements Closeable {
+
+    /**
+     * <p>xlsx单个sheet的行数上限,包括表头</p>
+     **/
+    public static final int XLSX_MAX_ROWS = 1048576;
+
+    private final ExcelWriter excelWriter;
+
+    private final List<String> dataKeyList;
+
+    private final List<List<String>> head;
+
+    private final String sheet;
+
+    private final int sheetMaxRows;
+
+    private WriteSheet writeSheet;
+
+    private int sheetIndex = -1;
+
+    private int sheetRows;
+
+    private long total;
+
+    public ExcelBatchWriter(@NotNull ExcelWriter excelWriter, @NotNull List<String> dataKeyList, @NotNull List<String> columnList, String sheet) {
+        this(excelWriter, dataKeyList, columnList, sheet, XLSX_MAX_ROWS - 1);
+    }
+
+    public ExcelBatchWriter(@NotNull ExcelWriter excelWriter, @NotNull List<String> dataKeyList, @NotNull List<String> columnList, String sheet, int sheetMaxRows) {
+        this.excelWriter = excelWriter;
+        this.dataKeyList = dataKeyList;
+        this.head = columnList.stream().map(List::of).toList();
+        this.sheet = sheet;
+        this.sheetMaxRows = sheetMaxRows;
+    }
+
+    /**
+     * <p>写入一批数据,写完后调用方可以复用或丢弃dataList</p>
+     *
+     * @param dataList 本批数据
+     **/
+    public void write(@NotNull List<? extends Map<String, Object>> dataList) {
+        int from = 0;
+        while (from < dataList.size() || this.writeSheet == null) {
+            if (this.writeSheet == null || this.sheetRows >= this.sheetMaxRows) {
+                this.nextSheet();
+            }
+            int to = Math.min(dataList.size(), from + this.sheetMaxRows - this.sheetRows);
+            List<List<Object>> rows = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                Map<String, Object> item = dataList.get(i);
+                List<Object> row = new ArrayList<>(this.dataKeyList.size());
+                this.dataKeyList.forEach(key -> row.add(item.get(key)));
+                rows.add(row);
+            }
+            this.excelWriter.write(rows, this.writeSheet);
+            this.sheetRows += rows.size();
+            this.total += rows.size();
+            from = to;
+        }
+    }
+
+    private void nextSheet() {
+        this.sheetIndex++;
+        String sheetName = this.sheetIndex == 0 ? this.sheet : StringUtil.concat(this.sheet, String.valueOf(this.sheetIndex + 1));
+        this.writeSheet = EasyExcel.writerSheet(this.sheetIndex, sheetName).head(this.head).build();
+        this.sheetRows = 0;
+    }
+
+    /**
+     * <p>已写入的数据行数</p>
+     *
+     * @return long
+     **/
+    public long getTotal() {
+        return this.total;
+    }
+
+    /**
+     * <p>没有写入过数据时也会写出只有表头的sheet</p>
+     **/
+    @Override
+    public void close() {
+        if (this.writeSheet == null) {
+            this.write(List.of());
+        }
+        this.excelWriter.finish();
+    }
+
+}
@@ -134,16 +134,7 @@ public class ExcelUtil {
             OutputStream outputStream
     ) {
         fileName = URLEncoder.encode(fileName, StandardCharsets.UTF_8);
-        ExcelWriterBuilder excelWriterBuilder = EasyExcel.write(outputStream).autoCloseStream(Boolean.FALSE).excelType(ExcelTypeEnum.XLSX);
-        if (Objects.isNull(writeHandlerList)) {
-            writeHandlerList = new ArrayList<>();
-        }
-        if (Objects.isNull(converterList)) {
-            converterList = new ArrayList<>();
-        }
-        converterList.add(new TimestampConverter());
-        converterList.forEach(excelWriterBuilder::registerConverter);
-        try (ExcelWriter excelWriter = excelWriterBuilder.build()) {
+        try (ExcelWriter excelWriter = buildExcelWriter(writeHandlerList, converterList, outputStream)) {
             for (int index = 0; index < dataList.size(); index++) {
                 if (Objects.nonNull(dataList.get(index)) && Objects.nonNull(columnList.get(index)) && Objects.nonNull(sheetList.get(index))) {
                     WriteSheet writeSheet = EasyExcel.writerSheet(index, sheetList.get(index)).head(columnList.get(index)).build();
@@ -153,6 +144,39 @@ public class ExcelUtil {
         }
     }
 
+    public static ExcelWriter buildExcelWriter(List<WriteHandler> writeHandlerList, List<Converter<?>> converterList, OutputStream outputStream) {
+        ExcelWriterBuilder excelWriterBuilder = EasyExcel.write(outputStream).autoCloseStream(Boolean.FALSE).excelType(ExcelTypeEnum.XLSX);
+        if (Objects.nonNull(writeHandlerList)) {
+            writeHandlerList.forEach(excelWriterBuilder::registerWriteHandler);
+        }
+        if (Objects.isNull(converterList)) {
+            converterList = new ArrayList<>();
+        }
+        converterList.add(new TimestampConverter());
+        converterList.forEach(excelWriterBuilder::registerConverter);
+        return excelWriterBuilder.build();
+    }
+
+    /**
+     * <p>分批写入一个sheet,数据超过xlsx单个sheet的行数上限时自动新建sheet</p>
+     *
+     * @param dataKeyList  数据key
+     * @param columnList   表头
+     * @param sheet        sheet名,后续sheet为sheet名加序号
+     * @param outputStream 输出流,不会关闭
+     * @return ExcelBatchWriter 每批调用write,最后close
+     **/
+    public static ExcelBatchWriter batchWriter(
+            List<String> dataKeyList,
+            List<String> columnList,
+            String sheet,
+            List<WriteHandler> writeHandlerList,
+            List<Converter<?>> converterList,
+            OutputStream outputStream
+    ) {
+        return new ExcelBatchWriter(buildExcelWriter(writeHandlerList, converterList, outputStream), dataKeyList, columnList, sheet);
+    }
+
     public static WriteCellStyle getDefaultCellStyle() {
         WriteCellStyle contentWriteCellStyle = new WriteCellStyle();
         contentWriteCellStyle.setFillForegroundColor(IndexedColors.WHITE.getIndex());
@@ -0,0 +1,57 @@
+package com.ws.tool;
+
+import com.alibaba.fastjson2.JSONWriter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author GSF
+ * <p>每行一个json对象,fastjson2直接编码为utf-8字节,每行写完后刷到输出流,缓冲区复用</p>
+ */
+public class NdjsonWriter implements Closeable {
+
+    private final JSONWriter jsonWriter = JSONWriter.ofUTF8(JSONWriter.Feature.WriteNulls);
+
+    private final OutputStream outputStream;
+
+    public NdjsonWriter(@NotNull OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
+
+    /**
+     * <p>按key的顺序写入一行</p>
+     *
+     * @param row  数据
+     * @param keys 字段key
+     **/
+    public void writeRow(@NotNull Map<String, Object> row, @NotNull List<String> keys) {
+        this.jsonWriter.startObject();
+        for (String key : keys) {
+            this.jsonWriter.writeName(key);
+            this.jsonWriter.writeColon();
+            this.jsonWriter.writeAny(row.get(key));
+        }
+        this.jsonWriter.endObject();
+        this.jsonWriter.writeRaw("\n");
+        try {
+            this.jsonWriter.flushTo(this.outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * <p>释放缓冲区,不关闭输出流</p>
+     **/
+    @Override
+    public void close() {
+        this.jsonWriter.close();
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.ws.enu
+
+/**
+ * 批量保存的执行方式
+ *
+ * foreach: xml中foreach拼接成一条多行insert
+ * executor: BATCH执行器复用单行insert预编译语句,按批次flush
+ */
+enum class BatchSaveMode {
+    foreach, executor;
+}
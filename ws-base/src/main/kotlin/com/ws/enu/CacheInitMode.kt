@@ -0,0 +1,12 @@
+package com.ws.enu
+
+/**
+ * 启动时实体类缓存的初始化方式
+ *
+ * serial: 主线程依次构建
+ * parallel: ForkJoin线程池并行构建
+ * lazy: 启动时只登记实体类,第一次使用时再构建
+ */
+enum class CacheInitMode {
+    serial, parallel, lazy;
+}
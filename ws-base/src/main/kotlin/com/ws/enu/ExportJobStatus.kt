@@ -0,0 +1,13 @@
+package com.ws.enu
+
+/**
+ * 异步导出任务状态
+ *
+ * waiting: 排队等待
+ * running: 正在写入文件
+ * success: 文件已写完,可以下载
+ * fail: 导出失败
+ */
+enum class ExportJobStatus {
+    waiting, running, success, fail;
+}
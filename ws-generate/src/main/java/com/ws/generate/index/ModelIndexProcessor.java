@@ -0,0 +1,107 @@
+package com.ws.generate.index;
+
+import com.ws.annotation.Data;
+import com.ws.base.model.BaseModel;
+import com.ws.cache.ModelIndex;
+import com.ws.tool.StringUtil;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * @author GSF
+ * <p>编译期扫描@Data实体类,把类名写入{@link ModelIndex#INDEX_LOCATION},启动时所在的classpath根目录直接使用索引,不再扫描</p>
+ * <p>增量编译时会合并已有的索引,已经删除的实体类会被剔除</p>
+ */
+@SupportedAnnotationTypes("com.ws.annotation.Data")
+public class ModelIndexProcessor extends AbstractProcessor {
+
+    private final Map<String, ModelIndex> indexMap = new TreeMap<>();
+    private boolean loaded;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (!this.loaded) {
+            this.loadExistIndex();
+            this.loaded = true;
+        }
+        if (roundEnv.processingOver()) {
+            this.writeIndex();
+            return false;
+        }
+        TypeElement baseModelElement = this.processingEnv.getElementUtils().getTypeElement(BaseModel.class.getName());
+        if (Objects.isNull(baseModelElement)) {
+            return false;
+        }
+        TypeMirror baseModelType = this.processingEnv.getTypeUtils().erasure(baseModelElement.asType());
+        for (Element element : roundEnv.getElementsAnnotatedWith(Data.class)) {
+            if (element.getKind() == ElementKind.CLASS && this.processingEnv.getTypeUtils().isAssignable(element.asType(), baseModelType)) {
+                TypeElement typeElement = (TypeElement) element;
+                this.indexMap.put(typeElement.getQualifiedName().toString(), this.createModelIndex(typeElement));
+            }
+        }
+        return false;
+    }
+
+    private @NotNull ModelIndex createModelIndex(@NotNull TypeElement typeElement) {
+        ModelIndex modelIndex = new ModelIndex();
+        modelIndex.setModel(typeElement.getQualifiedName().toString());
+        return modelIndex;
+    }
+
+    private void loadExistIndex() {
+        try {
+            FileObject resource = this.processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", ModelIndex.INDEX_LOCATION);
+            try (Reader reader = resource.openReader(true); BufferedReader bufferedReader = new BufferedReader(reader)) {
+                String line;
+                while ((line = bufferedReader.readLine()) != null) {
+                    if (StringUtil.isEmpty(line.trim())) {
+                        continue;
+                    }
+                    ModelIndex modelIndex = ModelIndex.fromJson(line);
+                    if (Objects.nonNull(this.processingEnv.getElementUtils().getTypeElement(modelIndex.getModel()))) {
+                        this.indexMap.put(modelIndex.getModel(), modelIndex);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException ignore) {
+//            第一次编译没有索引文件
+        }
+    }
+
+    /**
+     * <p>没有实体类时也写入空文件,覆盖上次编译留下的索引</p>
+     **/
+    private void writeIndex() {
+        try {
+            FileObject resource = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", ModelIndex.INDEX_LOCATION);
+            try (Writer writer = resource.openWriter()) {
+                for (ModelIndex modelIndex : this.indexMap.values()) {
+                    writer.write(modelIndex.toJson());
+                    writer.write("\n");
+                }
+            }
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, StringUtil.concat("写入实体类索引失败: ", e.getMessage()));
+        }
+    }
+
+}
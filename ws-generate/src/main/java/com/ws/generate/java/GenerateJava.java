@@ -6,6 +6,8 @@ public abstract class GenerateJava implements GenerateInfo {
 
     public abstract String getModelCode();
 
+    public abstract String getAccessorCode();
+
     public abstract String getMapperCode();
 
     public abstract String getServiceCode();
@@ -14,6 +16,8 @@ public abstract class GenerateJava implements GenerateInfo {
 
     public abstract boolean writeModel();
 
+    public abstract boolean writeAccessor();
+
     public abstract boolean writeMapper();
 
     public abstract boolean writeService();
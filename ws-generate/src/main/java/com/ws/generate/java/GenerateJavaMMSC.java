@@ -1,6 +1,8 @@
 package com.ws.generate.java;
 
 import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.ClassLoaderUtil;
+import cn.hutool.core.util.StrUtil;
 import com.squareup.javapoet.*;
 import com.ws.annotation.Column;
 import com.ws.annotation.Data;
@@ -9,13 +11,17 @@ import com.ws.base.controller.AbstractBaseDataControllerString;
 import com.ws.base.controller.BaseDataController;
 import com.ws.base.mapper.BaseDataMapper;
 import com.ws.base.model.BaseModel;
+import com.ws.base.model.ModelAccessor;
 import com.ws.base.service.AbstractBaseDataService;
+import com.ws.cache.convert.FieldConverter;
+import com.ws.cache.convert.FieldConverterFactory;
 import com.ws.enu.Condition;
 import com.ws.enu.JoinCondition;
 import com.ws.enu.JoinType;
 import com.ws.exception.MessageException;
 import com.ws.generate.metadata.field.ColumnInfo;
 import com.ws.generate.metadata.model.ModelInfo;
+import com.ws.tool.CommonTool;
 import com.ws.tool.GenerateJavaUtil;
 import com.ws.tool.StringUtil;
 import jakarta.annotation.Resource;
@@ -23,6 +29,8 @@ import lombok.EqualsAndHashCode;
 import lombok.SneakyThrows;
 import lombok.experimental.Accessors;
 import org.apache.ibatis.annotations.Mapper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -30,8 +38,12 @@ import org.springframework.web.bind.annotation.RestController;
 import javax.lang.model.element.Modifier;
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Consumer;
 
@@ -46,6 +58,7 @@ public class GenerateJavaMMSC<T extends ModelInfo<?, F>, F extends ColumnInfo<?,
     private Class<? extends BaseDataController> controllerSuperClazz = AbstractBaseDataControllerString.class;
 
     private String modelCode;
+    private String accessorCode;
     private String mapperCode;
     private String serviceCode;
     private String controllerCode;
@@ -127,6 +140,146 @@ public class GenerateJavaMMSC<T extends ModelInfo<?, F>, F extends ColumnInfo<?,
         return typeSpec.build();
     }
 
+    /**
+     * <p>生成{实体类名}Accessor,按slot直接调用get/set方法,运行时ModelCache会优先加载它</p>
+     *
+     * @return TypeSpec
+     **/
+    public @Nullable TypeSpec generateAccessorClass() {
+        if (!this.accessorSupported()) {
+            this.printWarn(StringUtil.concat(this.getModel().getModelName(), " 存在没有public get/set方法的属性,跳过生成accessor,运行时会使用反射构建的访问器"));
+            return null;
+        }
+        ClassName modelClazzName = ClassName.bestGuess(this.getModel().getModelFullName());
+        TypeSpec.Builder typeSpec = TypeSpec.classBuilder(this.getModel().getAccessorName()).addModifiers(Modifier.PUBLIC, Modifier.FINAL).addSuperinterface(ParameterizedTypeName.get(ClassName.get(ModelAccessor.class), modelClazzName));
+
+        List<F> fields = new ArrayList<>();
+        List<TypeName> fieldTypes = new ArrayList<>();
+        for (F item : this.getModel().getFields()) {
+            TypeName fieldType = this.getAccessorFieldType(item);
+            if (Objects.nonNull(fieldType)) {
+                fields.add(item);
+                fieldTypes.add(fieldType);
+            }
+        }
+
+        CodeBlock fieldNames = fields.stream().map(item -> CodeBlock.of("$S", item.getName())).collect(CodeBlock.joining(", "));
+        typeSpec.addField(FieldSpec.builder(ParameterizedTypeName.get(List.class, String.class), "FIELD_NAMES", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL).initializer("$T.of($L)", List.class, fieldNames).build());
+        CodeBlock fieldClazz = fieldTypes.stream().map(item -> CodeBlock.of("$T.class", this.getRawType(item))).collect(CodeBlock.joining(", "));
+        typeSpec.addField(FieldSpec.builder(ArrayTypeName.of(ParameterizedTypeName.get(ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class))), "FIELD_TYPES", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL).initializer("{$L}", fieldClazz).build());
+
+        CodeBlock fieldConverters = fieldTypes.stream().map(item -> CodeBlock.of("$T.getInstance().create($T.class)", FieldConverterFactory.class, this.getRawType(item))).collect(CodeBlock.joining(", "));
+        typeSpec.addField(FieldSpec.builder(ArrayTypeName.of(FieldConverter.class), "FIELD_CONVERTERS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL).initializer("{$L}", fieldConverters).build());
+
+        typeSpec.addMethod(MethodSpec.methodBuilder("fieldNames").addAnnotation(Override.class).addModifiers(Modifier.PUBLIC).returns(ParameterizedTypeName.get(List.class, String.class)).addStatement("return FIELD_NAMES").build());
+
+        MethodSpec.Builder slotMethod = MethodSpec.methodBuilder("slot").addAnnotation(Override.class).addModifiers(Modifier.PUBLIC).returns(int.class).addParameter(String.class, "name");
+        slotMethod.beginControlFlow("switch (name)");
+        for (int i = 0; i < fields.size(); i++) {
+            slotMethod.addStatement("case $S: return $L", fields.get(i).getName(), i);
+        }
+        slotMethod.addStatement("default: return -1").endControlFlow();
+        typeSpec.addMethod(slotMethod.build());
+
+        typeSpec.addMethod(MethodSpec.methodBuilder("fieldType").addAnnotation(Override.class).addModifiers(Modifier.PUBLIC).returns(ParameterizedTypeName.get(ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class))).addParameter(int.class, "slot").addStatement("return FIELD_TYPES[slot]").build());
+
+        MethodSpec.Builder getMethod = MethodSpec.methodBuilder("get").addAnnotation(Override.class).addModifiers(Modifier.PUBLIC).returns(Object.class).addParameter(modelClazzName, "model").addParameter(int.class, "slot");
+        getMethod.beginControlFlow("switch (slot)");
+        for (int i = 0; i < fields.size(); i++) {
+            getMethod.addStatement("case $L: return model.$L()", i, this.getAccessorMethodName("get", fields.get(i)));
+        }
+        getMethod.addStatement("default: throw new $T(slot)", IndexOutOfBoundsException.class).endControlFlow();
+        typeSpec.addMethod(getMethod.build());
+
+        MethodSpec.Builder setMethod = MethodSpec.methodBuilder("set").addAnnotation(Override.class).addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked").build()).addModifiers(Modifier.PUBLIC).addParameter(modelClazzName, "model").addParameter(int.class, "slot").addParameter(Object.class, "value");
+        setMethod.beginControlFlow("switch (slot)");
+        for (int i = 0; i < fields.size(); i++) {
+            setMethod.addCode("case $L:\n", i).addStatement("$>model.$L(($T) value)", this.getAccessorMethodName("set", fields.get(i)), fieldTypes.get(i)).addStatement("break$<");
+        }
+        setMethod.addStatement("default: throw new $T(slot)", IndexOutOfBoundsException.class).endControlFlow();
+        typeSpec.addMethod(setMethod.build());
+
+        ParameterizedTypeName mapTypeName = ParameterizedTypeName.get(Map.class, String.class, Object.class);
+        MethodSpec.Builder toMapMethod = MethodSpec.methodBuilder("toMap").addAnnotation(Override.class).addModifiers(Modifier.PUBLIC).returns(mapTypeName).addParameter(modelClazzName, "model");
+        toMapMethod.addStatement("$T map = new $T<>($L)", mapTypeName, HashMap.class, (int) (fields.size() / 0.75f) + 1);
+        for (F item : fields) {
+            toMapMethod.addStatement("map.put($S, model.$L())", item.getName(), this.getAccessorMethodName("get", item));
+        }
+        toMapMethod.addStatement("return map");
+        typeSpec.addMethod(toMapMethod.build());
+
+        MethodSpec.Builder fromMapMethod = MethodSpec.methodBuilder("fromMap").addAnnotation(Override.class).addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked").build()).addModifiers(Modifier.PUBLIC).addParameter(modelClazzName, "model").addParameter(mapTypeName, "map");
+        fromMapMethod.addStatement("$T value", Object.class);
+        for (int i = 0; i < fields.size(); i++) {
+            fromMapMethod.addStatement("value = map.get($S)", fields.get(i).getName());
+            fromMapMethod.beginControlFlow("if (value != null)");
+            fromMapMethod.addStatement("model.$L(($T) FIELD_CONVERTERS[$L].convert(value))", this.getAccessorMethodName("set", fields.get(i)), fieldTypes.get(i), i);
+            fromMapMethod.endControlFlow();
+        }
+        typeSpec.addMethod(fromMapMethod.build());
+
+        return typeSpec.build();
+    }
+
+    /**
+     * <p>从实体类生成时,属性不一定都有get/set方法(比如继承的私有属性),这种情况不生成accessor</p>
+     **/
+    private boolean accessorSupported() {
+        if (!(this.getModel().getMetaData() instanceof Class<?> modelClazz)) {
+            return true;
+        }
+        List<Field> fields = CommonTool.getClazzFields(modelClazz).stream().filter(field -> !java.lang.reflect.Modifier.isStatic(field.getModifiers())).toList();
+        if (fields.size() != this.getModel().getFields().size()) {
+            return false;
+        }
+        for (Field field : fields) {
+            try {
+                modelClazz.getMethod(StringUtil.concat(field.getType() == boolean.class ? "is" : "get", StrUtil.upperFirst(field.getName())));
+                modelClazz.getMethod(StringUtil.concat("set", StrUtil.upperFirst(field.getName())), field.getType());
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private @Nullable TypeName getAccessorFieldType(@NotNull F item) {
+        if (item.isBaseField()) {
+            Class<?> primitiveClazz = ClassLoaderUtil.loadPrimitiveClass(item.getJavaTypeName());
+            if (Objects.nonNull(primitiveClazz)) {
+                return TypeName.get(primitiveClazz);
+            }
+            try {
+                return TypeName.get(Class.forName(item.getJavaTypeName()));
+            } catch (ClassNotFoundException e) {
+                this.printError(StringUtil.concat("加载类: ", item.getJavaTypeName(), " 失败"));
+                return null;
+            }
+        }
+        ClassName leftModelClazzName = ClassName.bestGuess(item.getLeftModel().getModelFullName());
+        if (item.isCollectionJoinField()) {
+            return ParameterizedTypeName.get(ClassName.get(List.class), leftModelClazzName);
+        }
+        return leftModelClazzName;
+    }
+
+    private TypeName getRawType(TypeName typeName) {
+        if (typeName instanceof ParameterizedTypeName parameterizedTypeName) {
+            return parameterizedTypeName.rawType;
+        }
+        return typeName;
+    }
+
+    /**
+     * <p>lombok给boolean属性生成的get方法是isXxx</p>
+     **/
+    private String getAccessorMethodName(String prefix, @NotNull F item) {
+        if (StrUtil.equals(prefix, "get") && StrUtil.equals(item.getJavaTypeName(), boolean.class.getName())) {
+            prefix = "is";
+        }
+        return StringUtil.concat(prefix, StrUtil.upperFirst(item.getName()));
+    }
+
     public TypeSpec generateMapperInterface() {
         TypeSpec.Builder typeSpec = TypeSpec.interfaceBuilder(this.getModel().getMapperName()).addModifiers(Modifier.PUBLIC);
 
@@ -210,6 +363,19 @@ public class GenerateJavaMMSC<T extends ModelInfo<?, F>, F extends ColumnInfo<?,
         return true;
     }
 
+    public boolean writeAccessor(String path) {
+        if (StringUtil.isEmpty(this.getAccessorCode())) {
+            this.generateAccessorCode();
+        }
+        if (StringUtil.isEmpty(this.getAccessorCode())) {
+            return false;
+        }
+        File file = FileUtil.touch(path);
+        file.deleteOnExit();
+        FileUtil.writeString(this.getAccessorCode(), file, StandardCharsets.UTF_8);
+        return true;
+    }
+
     public boolean writeMapper(String path) {
         if (StringUtil.isEmpty(this.getMapperCode())) {
             this.generateMapperCode();
@@ -272,6 +438,21 @@ public class GenerateJavaMMSC<T extends ModelInfo<?, F>, F extends ColumnInfo<?,
         return null;
     }
 
+    public String generateAccessorCode() {
+        TypeSpec accessor = this.generateAccessorClass();
+        if (Objects.isNull(accessor)) {
+            return null;
+        }
+        try {
+            String accessorCode = GenerateJavaUtil.getJavaCode(this.getModel().getModelPackageName(), accessor);
+            this.setAccessorCode(accessorCode);
+            return accessorCode;
+        } catch (IOException e) {
+            this.printError(StringUtil.concat("获取accessor失败,对应的model类是:", this.getModel().getModelName(), ",失败原因: ", e.getMessage()), e);
+        }
+        return null;
+    }
+
     public String generateMapperCode() {
         TypeSpec mapper = this.generateMapperInterface();
         try {
@@ -313,6 +494,11 @@ public class GenerateJavaMMSC<T extends ModelInfo<?, F>, F extends ColumnInfo<?,
         return this.writeModel(this.getModel().getGenerateModelFilePath());
     }
 
+    @Override
+    public boolean writeAccessor() {
+        return this.writeAccessor(this.getModel().getGenerateAccessorFilePath());
+    }
+
     @Override
     public boolean writeMapper() {
         return this.writeMapper(this.getModel().getGenerateMapperFilePath());
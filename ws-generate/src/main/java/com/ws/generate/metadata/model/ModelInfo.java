@@ -36,6 +36,14 @@ public interface ModelInfo<T, F extends ColumnInfo<?, ?>> extends Model {
         return this.getDataAnnotation().title();
     }
 
+    default boolean isWindowTotal() {
+        return this.getDataAnnotation().windowTotal();
+    }
+
+    default int getFetchSize() {
+        return this.getDataAnnotation().fetchSize();
+    }
+
     String getModelName();
 
     String getModelFullName();
@@ -82,6 +90,14 @@ public interface ModelInfo<T, F extends ColumnInfo<?, ?>> extends Model {
         return this.getMapperName();
     }
 
+    default String getAccessorName() {
+        return StringUtil.concat(this.getModelName(), "Accessor");
+    }
+
+    default String getAccessorFullName() {
+        return StringUtil.concat(this.getModelFullName(), "Accessor");
+    }
+
     default String getMapperName() {
         return StringUtil.concat(this.getModelName(), "Mapper");
     }
@@ -154,6 +170,10 @@ public interface ModelInfo<T, F extends ColumnInfo<?, ?>> extends Model {
         return StringUtil.concat(this.getModuleInfo().getModuleModelPath(), this.getModelName(), JAVA_SUFFIX);
     }
 
+    default String getAccessorFilePath() {
+        return StringUtil.concat(this.getModuleInfo().getModuleModelPath(), this.getAccessorName(), JAVA_SUFFIX);
+    }
+
     default String getMapperFilePath() {
         return StringUtil.concat(this.getModuleInfo().getModuleMapperPath(), this.getMapperName(), JAVA_SUFFIX);
     }
@@ -174,6 +194,10 @@ public interface ModelInfo<T, F extends ColumnInfo<?, ?>> extends Model {
         return StringUtil.concat(this.getModuleInfo().getModuleGenerateModelPath(), this.getModelName(), JAVA_SUFFIX);
     }
 
+    default String getGenerateAccessorFilePath() {
+        return StringUtil.concat(this.getModuleInfo().getModuleGenerateModelPath(), this.getAccessorName(), JAVA_SUFFIX);
+    }
+
     default String getGenerateMapperFilePath() {
         return StringUtil.concat(this.getModuleInfo().getModuleGenerateMapperPath(), this.getMapperName(), JAVA_SUFFIX);
     }
@@ -88,9 +88,27 @@ public abstract class GenerateXml<T extends ModelInfo<?, F>, F extends ColumnInf
         org.dom4j.Element batchInsertElement = this.generateBatchSave();
         rootElement.add(batchInsertElement);
         rootElement.addText(CommonStaticField.WRAP);
+        org.dom4j.Element upsertElement = this.generateUpsert();
+        if (Objects.nonNull(upsertElement)) {
+            rootElement.add(upsertElement);
+            rootElement.addText(CommonStaticField.WRAP);
+        }
+        org.dom4j.Element batchUpsertElement = this.generateBatchUpsert();
+        if (Objects.nonNull(batchUpsertElement)) {
+            rootElement.add(batchUpsertElement);
+            rootElement.addText(CommonStaticField.WRAP);
+        }
         org.dom4j.Element deleteElement = this.generateDelete();
         rootElement.add(deleteElement);
         rootElement.addText(CommonStaticField.WRAP);
+        org.dom4j.Element deleteByIdsElement = this.generateDeleteByIds();
+        rootElement.add(deleteByIdsElement);
+        rootElement.addText(CommonStaticField.WRAP);
+        org.dom4j.Element deleteLimitElement = this.generateDeleteLimit();
+        if (Objects.nonNull(deleteLimitElement)) {
+            rootElement.add(deleteLimitElement);
+            rootElement.addText(CommonStaticField.WRAP);
+        }
         org.dom4j.Element updateElement = this.generateUpdate();
         rootElement.add(updateElement);
         rootElement.addText(CommonStaticField.WRAP);
@@ -100,11 +118,27 @@ public abstract class GenerateXml<T extends ModelInfo<?, F>, F extends ColumnInf
         org.dom4j.Element getListElement = this.generateGetList();
         rootElement.add(getListElement);
         rootElement.addText(CommonStaticField.WRAP);
+        org.dom4j.Element getPageElement = this.generateGetPage();
+        if (Objects.nonNull(getPageElement)) {
+            rootElement.add(getPageElement);
+            rootElement.addText(CommonStaticField.WRAP);
+        }
         org.dom4j.Element getNestListElement = this.generateGetNestList();
         rootElement.add(getNestListElement);
         rootElement.addText(CommonStaticField.WRAP);
+        org.dom4j.Element getListCursorElement = this.generateGetListCursor();
+        rootElement.add(getListCursorElement);
+        rootElement.addText(CommonStaticField.WRAP);
+        org.dom4j.Element getNestListCursorElement = this.generateGetNestListCursor();
+        rootElement.add(getNestListCursorElement);
+        rootElement.addText(CommonStaticField.WRAP);
         org.dom4j.Element getTotalElement = this.generateGetTotal();
         rootElement.add(getTotalElement);
+        org.dom4j.Element getApproximateTotalElement = this.generateGetApproximateTotal();
+        if (Objects.nonNull(getApproximateTotalElement)) {
+            rootElement.addText(CommonStaticField.WRAP);
+            rootElement.add(getApproximateTotalElement);
+        }
         document.setRootElement(rootElement);
         this.setMapperDocument(document);
         return document;
@@ -166,6 +200,33 @@ public abstract class GenerateXml<T extends ModelInfo<?, F>, F extends ColumnInf
         return batchInsertElement;
     }
 
+    /**
+     * <p>插入或更新,各数据库语法不同,由子类实现,返回null时不生成</p>
+     *
+     * @return org.dom4j.Element
+     **/
+    public org.dom4j.Element generateUpsert() {
+        return null;
+    }
+
+    /**
+     * <p>批量插入或更新,各数据库语法不同,由子类实现,返回null时不生成</p>
+     *
+     * @return org.dom4j.Element
+     **/
+    public org.dom4j.Element generateBatchUpsert() {
+        return null;
+    }
+
+    /**
+     * <p>主键冲突时需要更新的字段,主键和创建时间不更新</p>
+     *
+     * @return List<F>
+     **/
+    public List<F> getUpsertUpdateFields() {
+        return this.getModel().getBaseFields().stream().filter(item -> !item.isPrimaryField() && !StrUtil.equals(item.getName(), "createdAt")).toList();
+    }
+
     public org.dom4j.Element generateDelete() {
         org.dom4j.Element deleteElement = this.createXmlElement("delete");
         deleteElement.addAttribute("id", CommonStaticField.DELETE_METHOD_NAME);
@@ -180,6 +241,31 @@ public abstract class GenerateXml<T extends ModelInfo<?, F>, F extends ColumnInf
         return deleteElement;
     }
 
+    /**
+     * <p>按主键列表删除,参数为主键列表,in列表长度由service分块固定</p>
+     *
+     * @return org.dom4j.Element
+     **/
+    public org.dom4j.Element generateDeleteByIds() {
+        org.dom4j.Element deleteElement = this.createXmlElement("delete");
+        deleteElement.addAttribute("id", CommonStaticField.DELETE_BY_IDS_METHOD_NAME);
+        deleteElement.addAttribute("parameterType", "List");
+        deleteElement.addText(StringUtil.concat(CommonStaticField.WRAP, "delete from ", this.getBackQuoteStr(this.getModel().getTableName()), " where ", this.getBackQuoteStr(this.getModel().getPrimaryField().getName()), " in", CommonStaticField.WRAP));
+        org.dom4j.Element forEachElement = this.getForEachElement("list", null, null, "(", ")", null);
+        forEachElement.addText(this.getPreCompileStr("item"));
+        deleteElement.add(forEachElement);
+        return deleteElement;
+    }
+
+    /**
+     * <p>按条件分批删除,每次最多删除deleteLimit行,各数据库语法不同,由子类实现,返回null时不生成</p>
+     *
+     * @return org.dom4j.Element
+     **/
+    public org.dom4j.Element generateDeleteLimit() {
+        return null;
+    }
+
     public org.dom4j.Element generateUpdate() {
         org.dom4j.Element updateElement = this.createXmlElement("update");
         updateElement.addAttribute("id", CommonStaticField.UPDATE_METHOD_NAME);
@@ -242,13 +328,40 @@ public abstract class GenerateXml<T extends ModelInfo<?, F>, F extends ColumnInf
     }
 
     public org.dom4j.Element generateGetList() {
+        return this.generateGetList(CommonStaticField.GET_LIST_METHOD_NAME, false);
+    }
+
+    public org.dom4j.Element generateGetList(String id, boolean windowTotal) {
+        org.dom4j.Element listElement = this.generateListSelect(id, windowTotal);
+        listElement.add(this.getListOrder());
+        listElement.addText(CommonStaticField.WRAP);
+        listElement.addText(this.getLimit());
+        return listElement;
+    }
+
+    /**
+     * <p>流式查询列表,不分页,mybatis返回Cursor</p>
+     *
+     * @return org.dom4j.Element
+     **/
+    public org.dom4j.Element generateGetListCursor() {
+        org.dom4j.Element listElement = this.generateListSelect(CommonStaticField.GET_LIST_CURSOR_METHOD_NAME, false);
+        this.addCursorAttribute(listElement);
+        listElement.add(this.getCursorOrder());
+        return listElement;
+    }
+
+    public org.dom4j.Element generateListSelect(String id, boolean windowTotal) {
         org.dom4j.Element listElement = this.createXmlElement("select");
-        listElement.addAttribute("id", CommonStaticField.GET_LIST_METHOD_NAME);
+        listElement.addAttribute("id", id);
         listElement.addAttribute("parameterType", "Map");
         listElement.addAttribute("resultType", "Map");
         listElement.addText(CommonStaticField.WRAP);
         listElement.addText("select ");
         listElement.addText(CommonStaticField.WRAP);
+        if (windowTotal) {
+            listElement.addText(StringUtil.concat("count(*) over() as ", this.getBackQuoteStr(CommonStaticField.WINDOW_TOTAL_COLUMN), ",", CommonStaticField.WRAP));
+        }
 
 //        List<F> collectionFields = this.getModel().getCollectionFields().stream().filter(item -> {
 //            T leftModel = item.getLeftModel();
@@ -273,18 +386,50 @@ public abstract class GenerateXml<T extends ModelInfo<?, F>, F extends ColumnInf
         org.dom4j.Element whereElement = this.createXmlElement("where");
 
         this.getIf(tempFields, whereElement::add);
+        whereElement.add(this.getSeek());
 
         listElement.add(whereElement);
         listElement.addText(CommonStaticField.WRAP);
-        listElement.add(this.getOrder());
-        listElement.addText(CommonStaticField.WRAP);
-        listElement.addText(this.getLimit());
         return listElement;
     }
 
+    /**
+     * <p>列表数据和条数一次查询,每行多一个count(*) over()的_total列,实体类{@link com.ws.annotation.Data#windowTotal()}开启时才生成</p>
+     *
+     * @return org.dom4j.Element
+     **/
+    public org.dom4j.Element generateGetPage() {
+        if (!this.getModel().isWindowTotal()) {
+            return null;
+        }
+        return this.generateGetList(CommonStaticField.GET_PAGE_METHOD_NAME, true);
+    }
+
     public org.dom4j.Element generateGetNestList() {
+        org.dom4j.Element nestListElement = this.generateNestListSelect(CommonStaticField.GET_NEST_LIST_METHOD_NAME);
+        nestListElement.add(this.getListOrder());
+        nestListElement.addText(CommonStaticField.WRAP);
+        nestListElement.addText(this.getLimit());
+        return nestListElement;
+    }
+
+    /**
+     * <p>流式查询嵌套列表,不分页,mybatis返回Cursor</p>
+     * <p>嵌套结果需要resultOrdered,同一主键的行必须相邻,所以最后总是按主键排序</p>
+     *
+     * @return org.dom4j.Element
+     **/
+    public org.dom4j.Element generateGetNestListCursor() {
+        org.dom4j.Element nestListElement = this.generateNestListSelect(CommonStaticField.GET_NEST_LIST_CURSOR_METHOD_NAME);
+        this.addCursorAttribute(nestListElement);
+        nestListElement.addAttribute("resultOrdered", "true");
+        nestListElement.add(this.getCursorOrder());
+        return nestListElement;
+    }
+
+    public org.dom4j.Element generateNestListSelect(String id) {
         org.dom4j.Element nestListElement = this.createXmlElement("select");
-        nestListElement.addAttribute("id", CommonStaticField.GET_NEST_LIST_METHOD_NAME);
+        nestListElement.addAttribute("id", id);
         nestListElement.addAttribute("parameterType", "Map");
         nestListElement.addAttribute("resultType", this.getModel().getModelFullName());
         nestListElement.addAttribute("resultMap", this.getModel().getModelName());
@@ -312,15 +457,33 @@ public abstract class GenerateXml<T extends ModelInfo<?, F>, F extends ColumnInf
         org.dom4j.Element whereElement = this.createXmlElement("where");
 
         this.getIf(tempFields, whereElement::add);
+        whereElement.add(this.getSeek());
 
         nestListElement.add(whereElement);
         nestListElement.addText(CommonStaticField.WRAP);
-        nestListElement.add(this.getOrder());
-        nestListElement.addText(CommonStaticField.WRAP);
-        nestListElement.addText(this.getLimit());
         return nestListElement;
     }
 
+    /**
+     * <p>流式查询的jdbc属性,只向前读取</p>
+     *
+     * @param selectElement select元素
+     **/
+    public void addCursorAttribute(org.dom4j.Element selectElement) {
+        selectElement.addAttribute("resultSetType", "FORWARD_ONLY");
+        selectElement.addAttribute("fetchSize", String.valueOf(this.getCursorFetchSize()));
+    }
+
+    /**
+     * <p>流式查询的fetchSize,{@link com.ws.annotation.Data#fetchSize()}为0时默认1000,各数据库流式读取方式不同时由子类覆盖</p>
+     *
+     * @return int
+     **/
+    public int getCursorFetchSize() {
+        int fetchSize = this.getModel().getFetchSize();
+        return fetchSize == 0 ? 1000 : fetchSize;
+    }
+
     public org.dom4j.Element generateGetTotal() {
         org.dom4j.Element totalElement = this.createXmlElement("select");
         totalElement.addAttribute("id", CommonStaticField.GET_TOTAL_METHOD_NAME);
@@ -350,6 +513,15 @@ public abstract class GenerateXml<T extends ModelInfo<?, F>, F extends ColumnInf
         return totalElement;
     }
 
+    /**
+     * <p>表统计信息中的近似条数,各数据库不同,由子类实现,返回null时不生成</p>
+     *
+     * @return org.dom4j.Element
+     **/
+    public org.dom4j.Element generateGetApproximateTotal() {
+        return null;
+    }
+
     public @NotNull org.dom4j.Element getFieldResultMap(@NotNull F field) {
         if (field.isBaseField()) {
             return this.getResultMapElement(field);
@@ -583,6 +755,96 @@ public abstract class GenerateXml<T extends ModelInfo<?, F>, F extends ColumnInf
         return ifElement;
     }
 
+    /**
+     * <p>游标分页的seek条件,参数由service根据after游标生成,只用于列表查询</p>
+     * <p>seekColumn为空时只按主键翻页;排序字段有null值时按mysql的null排序规则(升序在前,降序在后)处理</p>
+     * <p>比较符由seekDesc选择,不拼接参数文本</p>
+     *
+     * @return org.dom4j.Element
+     **/
+    public org.dom4j.Element getSeek() {
+        String table = this.getModel().getTableName();
+        String primary = this.getSelectText(table, this.getModel().getPrimaryField().getName());
+        String seekColumn = StringUtil.concat(this.getBackQuoteStr(table), ".", this.getBackQuoteStr(this.getConcatStr("seekColumn")));
+        org.dom4j.Element ifElement = this.createXmlElement("if");
+        ifElement.addAttribute("test", "seekMode != null and seekId != null");
+        org.dom4j.Element chooseElement = this.createXmlElement("choose");
+        org.dom4j.Element primaryWhenElement = chooseElement.addElement("when").addAttribute("test", "seekColumn == null");
+        primaryWhenElement.addText("and ");
+        this.addSeekCompare(primaryWhenElement, primary, "seekId");
+        org.dom4j.Element nullWhenElement = chooseElement.addElement("when").addAttribute("test", "seekValue == null");
+        nullWhenElement.addText(StringUtil.concat("and ((", seekColumn, " is null and "));
+        this.addSeekCompare(nullWhenElement, primary, "seekId");
+        nullWhenElement.addText(")");
+        nullWhenElement.addElement("if").addAttribute("test", "!seekDesc").addText(StringUtil.concat(" or ", seekColumn, " is not null"));
+        nullWhenElement.addText(")");
+        org.dom4j.Element otherwiseElement = chooseElement.addElement("otherwise");
+        otherwiseElement.addText("and (");
+        this.addSeekCompare(otherwiseElement, seekColumn, "seekValue");
+        otherwiseElement.addText(StringUtil.concat(" or (", seekColumn, " = ", this.getPreCompileStr("seekValue"), " and "));
+        this.addSeekCompare(otherwiseElement, primary, "seekId");
+        otherwiseElement.addText(")");
+        otherwiseElement.addElement("if").addAttribute("test", "seekDesc").addText(StringUtil.concat(" or ", seekColumn, " is null"));
+        otherwiseElement.addText(")");
+        ifElement.add(chooseElement);
+        return ifElement;
+    }
+
+    /**
+     * <p>column &lt; #{param} 或 column &gt; #{param},由seekDesc决定</p>
+     **/
+    public void addSeekCompare(org.dom4j.Element element, String column, String param) {
+        org.dom4j.Element chooseElement = element.addElement("choose");
+        chooseElement.addElement("when").addAttribute("test", "seekDesc").addText(StringUtil.concat(column, " < ", this.getPreCompileStr(param)));
+        chooseElement.addElement("otherwise").addText(StringUtil.concat(column, " > ", this.getPreCompileStr(param)));
+    }
+
+    /**
+     * <p>seek字段加主键的排序,方向由seekDesc决定</p>
+     **/
+    public void addSeekOrder(org.dom4j.Element element, String table, String primary) {
+        element.addText("order by ");
+        org.dom4j.Element chooseElement = element.addElement("choose");
+        org.dom4j.Element descElement = chooseElement.addElement("when").addAttribute("test", "seekDesc");
+        descElement.addElement("if").addAttribute("test", "seekColumn != null").addText(StringUtil.concat(this.getBackQuoteStr(table), ".", this.getBackQuoteStr(this.getConcatStr("seekColumn")), " desc, "));
+        descElement.addText(StringUtil.concat(primary, " desc"));
+        org.dom4j.Element ascElement = chooseElement.addElement("otherwise");
+        ascElement.addElement("if").addAttribute("test", "seekColumn != null").addText(StringUtil.concat(this.getBackQuoteStr(table), ".", this.getBackQuoteStr(this.getConcatStr("seekColumn")), " asc, "));
+        ascElement.addText(StringUtil.concat(primary, " asc"));
+    }
+
+    /**
+     * <p>列表排序,游标分页时按seek字段加主键排序,保证顺序稳定</p>
+     *
+     * @return org.dom4j.Element
+     **/
+    public org.dom4j.Element getListOrder() {
+        String table = this.getModel().getTableName();
+        org.dom4j.Element chooseElement = this.createXmlElement("choose");
+        org.dom4j.Element seekWhenElement = chooseElement.addElement("when").addAttribute("test", "seekMode != null");
+        this.addSeekOrder(seekWhenElement, table, this.getSelectText(table, this.getModel().getPrimaryField().getName()));
+        chooseElement.addElement("otherwise").add(this.getOrder());
+        return chooseElement;
+    }
+
+    /**
+     * <p>流式查询的排序,和列表排序一致,最后加上主键保证顺序稳定且同一主键的行相邻</p>
+     *
+     * @return org.dom4j.Element
+     **/
+    public org.dom4j.Element getCursorOrder() {
+        String table = this.getModel().getTableName();
+        String primary = this.getSelectText(table, this.getModel().getPrimaryField().getName());
+        org.dom4j.Element chooseElement = this.createXmlElement("choose");
+        org.dom4j.Element seekWhenElement = chooseElement.addElement("when").addAttribute("test", "seekMode != null");
+        this.addSeekOrder(seekWhenElement, table, primary);
+        org.dom4j.Element otherwiseElement = chooseElement.addElement("otherwise");
+        otherwiseElement.addText("order by ");
+        otherwiseElement.addElement("if").addAttribute("test", "orderColumn != null").addText(StringUtil.concat(this.getBackQuoteStr(this.getConcatStr("orderColumn")), " ", this.getConcatStr("order"), ", "));
+        otherwiseElement.addText(primary);
+        return chooseElement;
+    }
+
     public org.dom4j.Element getResultMapElement(@NotNull F field) {
         return this.getResultMapElement(field.getName(), field.getMybatisJdbcType().name(), field.getName(), field.isPrimaryField());
     }
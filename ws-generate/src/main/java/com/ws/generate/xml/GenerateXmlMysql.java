@@ -3,8 +3,12 @@ package com.ws.generate.xml;
 import com.ws.exception.MessageException;
 import com.ws.generate.metadata.field.ColumnInfo;
 import com.ws.generate.metadata.model.ModelInfo;
+import com.ws.tool.CommonStaticField;
+import com.ws.tool.StringUtil;
 
+import java.util.List;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 public class GenerateXmlMysql<T extends ModelInfo<?, F>, F extends ColumnInfo<?, T>> extends GenerateXml<T, F> {
 
@@ -16,4 +20,67 @@ public class GenerateXmlMysql<T extends ModelInfo<?, F>, F extends ColumnInfo<?,
         super(model, message);
     }
 
-}
\ No newline at end of file
+    @Override
+    public org.dom4j.Element generateUpsert() {
+        org.dom4j.Element upsertElement = this.createXmlElement("insert");
+        upsertElement.addAttribute("id", CommonStaticField.UPSERT_METHOD_NAME);
+        upsertElement.addAttribute("parameterType", "Map");
+        List<F> baseFields = this.getModel().getBaseFields();
+        upsertElement.addText(StringUtil.concat(CommonStaticField.WRAP, "insert into ", this.getBackQuoteStr(this.getModel().getTableName()), "(", baseFields.stream().map(item -> getBackQuoteStr(item.getName())).collect(Collectors.joining(",")), ") values (", baseFields.stream().map(item -> getPreCompileStr(item.getName())).collect(Collectors.joining(",")), ")", CommonStaticField.WRAP));
+        upsertElement.addText(this.getOnDuplicateKeyUpdateText());
+        return upsertElement;
+    }
+
+    @Override
+    public org.dom4j.Element generateBatchUpsert() {
+        org.dom4j.Element batchUpsertElement = this.createXmlElement("insert");
+        batchUpsertElement.addAttribute("id", CommonStaticField.BATCH_UPSERT_METHOD_NAME);
+        batchUpsertElement.addAttribute("parameterType", "List");
+        List<F> baseFields = this.getModel().getBaseFields();
+        batchUpsertElement.addText(StringUtil.concat(CommonStaticField.WRAP, "insert into ", this.getBackQuoteStr(this.getModel().getTableName()), "(", baseFields.stream().map(item -> getBackQuoteStr(item.getName())).collect(Collectors.joining(",")), ") values", CommonStaticField.WRAP));
+        org.dom4j.Element forEachElement = this.getForEachElement("list", null, null, null, null, null);
+        forEachElement.addText(StringUtil.concat("(", baseFields.stream().map(item -> getPreCompileStr(StringUtil.concat("item.", item.getName()))).collect(Collectors.joining(",")), ")"));
+        batchUpsertElement.add(forEachElement);
+        batchUpsertElement.addText(StringUtil.concat(CommonStaticField.WRAP, this.getOnDuplicateKeyUpdateText()));
+        return batchUpsertElement;
+    }
+
+    @Override
+    public org.dom4j.Element generateDeleteLimit() {
+        org.dom4j.Element deleteElement = this.generateDelete();
+        deleteElement.addAttribute("id", CommonStaticField.DELETE_LIMIT_METHOD_NAME);
+        deleteElement.addText(StringUtil.concat(CommonStaticField.WRAP, "limit ", this.getPreCompileStr("deleteLimit"), CommonStaticField.WRAP));
+        return deleteElement;
+    }
+
+    @Override
+    public org.dom4j.Element generateGetApproximateTotal() {
+        org.dom4j.Element totalElement = this.createXmlElement("select");
+        totalElement.addAttribute("id", CommonStaticField.GET_APPROXIMATE_TOTAL_METHOD_NAME);
+        totalElement.addAttribute("resultType", Integer.class.getSimpleName());
+        totalElement.addText(StringUtil.concat(CommonStaticField.WRAP, "select `table_rows` from `information_schema`.`tables` where `table_schema` = database() and `table_name` = '", this.getModel().getTableName(), "'", CommonStaticField.WRAP));
+        return totalElement;
+    }
+
+    /**
+     * <p>mysql驱动只有fetchSize为Integer.MIN_VALUE时逐行流式读取,正数需要连接参数useCursorFetch=true</p>
+     **/
+    @Override
+    public int getCursorFetchSize() {
+        int fetchSize = this.getModel().getFetchSize();
+        return fetchSize == 0 ? Integer.MIN_VALUE : fetchSize;
+    }
+
+    /**
+     * <p>和按实体类更新保持一致,新值为null时保留原值</p>
+     **/
+    public String getOnDuplicateKeyUpdateText() {
+        List<F> updateFields = this.getUpsertUpdateFields();
+        if (updateFields.isEmpty()) {
+            String primary = getBackQuoteStr(this.getModel().getPrimaryField().getName());
+            return StringUtil.concat("on duplicate key update ", primary, " = ", primary, CommonStaticField.WRAP);
+        }
+        return StringUtil.concat("on duplicate key update ", updateFields.stream().map(item -> StringUtil.concat(getBackQuoteStr(item.getName()), " = ifnull(values(", getBackQuoteStr(item.getName()), "), ", getBackQuoteStr(item.getName()), ")")).collect(Collectors.joining(", ")), CommonStaticField.WRAP);
+    }
+
+}
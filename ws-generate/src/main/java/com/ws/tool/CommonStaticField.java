@@ -11,12 +11,21 @@ public class CommonStaticField {
     public static final String WRAP = "\r\n";
     public static final String SAVE_METHOD_NAME = "_save";
     public static final String BATCH_SAVE_METHOD_NAME = "_batchSave";
+    public static final String UPSERT_METHOD_NAME = "_upsert";
+    public static final String BATCH_UPSERT_METHOD_NAME = "_batchUpsert";
     public static final String DELETE_METHOD_NAME = "_delete";
+    public static final String DELETE_BY_IDS_METHOD_NAME = "_deleteByIds";
+    public static final String DELETE_LIMIT_METHOD_NAME = "_deleteLimit";
     public static final String UPDATE_METHOD_NAME = "_update";
     public static final String SELECT_METHOD_NAME = "_select";
     public static final String GET_LIST_METHOD_NAME = "_getList";
     public static final String GET_NEST_LIST_METHOD_NAME = "_getNestList";
     public static final String GET_TOTAL_METHOD_NAME = "_getTotal";
+    public static final String GET_LIST_CURSOR_METHOD_NAME = "_getListCursor";
+    public static final String GET_NEST_LIST_CURSOR_METHOD_NAME = "_getNestListCursor";
+    public static final String GET_PAGE_METHOD_NAME = "_getPage";
+    public static final String WINDOW_TOTAL_COLUMN = "_total";
+    public static final String GET_APPROXIMATE_TOTAL_METHOD_NAME = "_getApproximateTotal";
     public static final String FILE_DOT = "\\.";
     public static final String JAVA_SUFFIX = ".java";
     public static final String BASE_MODEL_CLAZZ_SIMPLE_NAME = BaseModel.class.getSimpleName();
@@ -3,8 +3,11 @@ package com.ws;
 import com.ws.annotation.Data;
 import com.ws.annotation.EnableConfig;
 import com.ws.base.controller.BaseDataController;
+import com.ws.base.controller.daoru.ImportTaskExecutor;
+import com.ws.base.export.ExportJobManager;
 import com.ws.base.model.BaseModel;
 import com.ws.base.service.BaseDataService;
+import com.ws.enu.CacheInitMode;
 import com.ws.table.GenerateTable;
 import com.ws.table.GenerateTableMysql;
 import com.ws.tool.CacheTool;
@@ -14,6 +17,7 @@ import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.util.StopWatch;
 
 import javax.sql.DataSource;
 import java.io.IOException;
@@ -23,6 +27,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -39,19 +45,52 @@ public class ConfigManager implements ApplicationContextAware {
         this.applicationContext = applicationContext;
         this.enableConfig = CommonParam.mainClazz.getAnnotation(EnableConfig.class);
         CommonParam.applicationContext = applicationContext;
+        StopWatch stopWatch = new StopWatch("ws-config");
         try {
-            CommonParam.modelClazz = CommonParam.getTargetPackageModelClazz(this.enableConfig.modelPackage());
-            this.cacheConfig();
+            stopWatch.start("model");
+            CommonParam.modelClazz = this.modelConfig();
+            stopWatch.stop();
+            this.cacheConfig(stopWatch);
+            stopWatch.start("table");
             this.tableConfig();
+            stopWatch.stop();
+            this.executorConfig();
         } catch (IOException | ClassNotFoundException e) {
             throw new RuntimeException(e);
         }
+        log.info("初始化耗时, 实体类: {} 个, 缓存初始化方式: {}, 实体类缓存: {}\n{}", CommonParam.modelClazz.size(), this.enableConfig.cacheInitMode(), CacheTool.modelCacheStats, stopWatch.prettyPrint(TimeUnit.MILLISECONDS));
     }
 
-    private void cacheConfig() {
-        CacheTool.initModelCache(new ArrayList<>(CommonParam.modelClazz));
+    private Set<Class<? extends BaseModel>> modelConfig() throws IOException, ClassNotFoundException {
+        if (this.enableConfig.enableModelIndex()) {
+            return CommonParam.getIndexModelClazz(this.enableConfig.modelPackage());
+        }
+        return CommonParam.getTargetPackageModelClazz(this.enableConfig.modelPackage());
+    }
+
+    private void cacheConfig(StopWatch stopWatch) {
+        CacheInitMode cacheInitMode = this.enableConfig.cacheInitMode();
+        if (cacheInitMode == CacheInitMode.lazy) {
+            return;
+        }
+        stopWatch.start("modelCache");
+        if (cacheInitMode == CacheInitMode.parallel) {
+            CacheTool.initModelCacheParallel(new ArrayList<>(CommonParam.modelClazz));
+        } else {
+            CacheTool.initModelCache(new ArrayList<>(CommonParam.modelClazz));
+        }
+        stopWatch.stop();
+        stopWatch.start("serviceCache");
         CacheTool.initServiceCache(applicationContext.getBeansOfType(BaseDataService.class).values().stream().map(item -> item.getClass()).collect(Collectors.toList()));
+        stopWatch.stop();
+        stopWatch.start("controllerCache");
         CacheTool.initControllerCache(applicationContext.getBeansOfType(BaseDataController.class).values().stream().map(item -> item.getClass()).collect(Collectors.toList()));
+        stopWatch.stop();
+    }
+
+    private void executorConfig() {
+        ExportJobManager.configure(this.enableConfig.exportSpoolDir(), this.enableConfig.exportWorkers(), this.enableConfig.exportQueueSize(), this.enableConfig.exportFileSeconds());
+        ImportTaskExecutor.configure(this.enableConfig.importWorkers(), this.enableConfig.importQueueSize());
     }
 
     private void tableConfig() {
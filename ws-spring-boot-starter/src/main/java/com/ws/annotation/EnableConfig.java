@@ -1,6 +1,7 @@
 package com.ws.annotation;
 
 import com.ws.ConfigRegister;
+import com.ws.enu.CacheInitMode;
 import org.springframework.context.annotation.Import;
 
 import java.lang.annotation.*;
@@ -22,4 +23,44 @@ public @interface EnableConfig {
 
     boolean enableExceptionHandle() default true;
 
+    /**
+     * <p>读取编译期生成的实体类索引(META-INF/ws/model.index),有索引的classpath根目录不再扫描modelPackage,关闭时全部扫描</p>
+     **/
+    boolean enableModelIndex() default true;
+
+    /**
+     * <p>实体类/service/controller缓存的初始化方式,lazy时第一次使用才构建</p>
+     **/
+    CacheInitMode cacheInitMode() default CacheInitMode.serial;
+
+    /**
+     * <p>异步导出文件的spool目录,为空时使用java.io.tmpdir/ws-export</p>
+     **/
+    String exportSpoolDir() default "";
+
+    /**
+     * <p>异步导出的工作线程数</p>
+     **/
+    int exportWorkers() default 2;
+
+    /**
+     * <p>异步导出排队任务数上限</p>
+     **/
+    int exportQueueSize() default 64;
+
+    /**
+     * <p>异步导出文件保留时间,单位秒</p>
+     **/
+    long exportFileSeconds() default 3600;
+
+    /**
+     * <p>并行导入共用的工作线程数,所有导入请求合计最多占用这么多数据库连接</p>
+     **/
+    int importWorkers() default 4;
+
+    /**
+     * <p>并行导入排队任务数上限</p>
+     **/
+    int importQueueSize() default 64;
+
 }
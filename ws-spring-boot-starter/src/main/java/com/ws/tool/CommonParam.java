@@ -2,6 +2,7 @@ package com.ws.tool;
 
 import com.ws.annotation.Data;
 import com.ws.base.model.BaseModel;
+import com.ws.cache.ModelIndex;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
@@ -25,7 +26,11 @@ import java.io.IOException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
@@ -90,15 +95,89 @@ public class CommonParam {
 
     public static @NotNull Set<Class<? extends BaseModel>> getTargetPackageModelClazz(String packagePath) throws IOException, ClassNotFoundException {
         Set<Class<? extends BaseModel>> modelClazz = new HashSet<>();
+        for (String className : getTargetPackageModelClassName(packagePath)) {
+            Class<?> clazz = Class.forName(className);
+            if (BaseModel.class.isAssignableFrom(clazz)) {
+                modelClazz.add((Class<? extends BaseModel>) clazz);
+            }
+        }
+        return modelClazz;
+    }
+
+    /**
+     * <p>只读取class文件的注解元数据,不加载类,返回带@Data的类名</p>
+     *
+     * @param packagePath 实体类所在包
+     * @return Set<String>
+     **/
+    public static @NotNull Set<String> getTargetPackageModelClassName(String packagePath) throws IOException {
+        return getTargetPackageModelClassName(packagePath, Collections.emptySet());
+    }
+
+    /**
+     * <p>只读取class文件的注解元数据,不加载类,返回带@Data的类名</p>
+     *
+     * @param packagePath 实体类所在包
+     * @param skipRoots   跳过的classpath根目录url,这些根目录下的class不读取
+     * @return Set<String>
+     **/
+    public static @NotNull Set<String> getTargetPackageModelClassName(String packagePath, @NotNull Set<String> skipRoots) throws IOException {
+        Set<String> classNames = new HashSet<>();
         ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver();
         String pattern = StringUtil.concat(ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + ClassUtils.convertClassNameToResourcePath(packagePath), "/**/*.class");
         Resource[] resources = resourcePatternResolver.getResources(pattern);
         MetadataReaderFactory metadataReaderFactory = new CachingMetadataReaderFactory(resourcePatternResolver);
         for (Resource resource : resources) {
+            if (!skipRoots.isEmpty()) {
+                String location = resource.getURL().toString();
+                if (skipRoots.stream().anyMatch(location::startsWith)) {
+                    continue;
+                }
+            }
             MetadataReader reader = metadataReaderFactory.getMetadataReader(resource);
-            String className = reader.getClassMetadata().getClassName();
-            Class<?> clazz = Class.forName(className);
-            if (BaseModel.class.isAssignableFrom(clazz) && Objects.nonNull(clazz.getAnnotation(Data.class))) {
+            if (reader.getAnnotationMetadata().hasAnnotation(Data.class.getName())) {
+                classNames.add(reader.getClassMetadata().getClassName());
+            }
+        }
+        return classNames;
+    }
+
+    /**
+     * <p>读取编译期生成的索引,有索引的classpath根目录直接使用索引中的类名,只扫描没有索引的根目录(如没有经过注解处理器编译的jar)</p>
+     * <p>索引中的类加载失败时说明索引已过期,退回到全量扫描</p>
+     *
+     * @param packages 实体类所在包
+     * @return Set<Class < ? extends BaseModel>>
+     **/
+    @SuppressWarnings("unchecked")
+    public static @NotNull Set<Class<? extends BaseModel>> getIndexModelClazz(@NotNull String[] packages) throws IOException, ClassNotFoundException {
+        ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+        if (Objects.isNull(classLoader)) {
+            return getTargetPackageModelClazz(packages);
+        }
+        Map<String, List<ModelIndex>> indexMap = ModelIndex.load(classLoader);
+        Set<String> classNames = new HashSet<>();
+        for (List<ModelIndex> modelIndexList : indexMap.values()) {
+            for (ModelIndex modelIndex : modelIndexList) {
+                String className = modelIndex.getModel();
+                if (Arrays.stream(packages).anyMatch(item -> className.startsWith(StringUtil.concat(item, ".")))) {
+                    classNames.add(className);
+                }
+            }
+        }
+        for (String modelPackage : packages) {
+            classNames.addAll(getTargetPackageModelClassName(modelPackage, indexMap.keySet()));
+        }
+        Set<Class<? extends BaseModel>> modelClazz = new HashSet<>();
+        for (String className : classNames) {
+            Class<?> clazz;
+            try {
+                clazz = ClassUtils.forName(className, classLoader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                log.warn("实体类索引已过期, {} 加载失败,改为扫描 modelPackage", className);
+                return getTargetPackageModelClazz(packages);
+            }
+            if (BaseModel.class.isAssignableFrom(clazz)) {
                 modelClazz.add((Class<? extends BaseModel>) clazz);
             }
         }